@@ -25,14 +25,77 @@ api.interceptors.request.use((config) => {
     return config;
 });
 
+// Tabs share one refresh token; rotating it twice trips reuse detection and revokes the session
+const REFRESH_LOCK = 'bugnest-token-refresh';
+export const TOKEN_REFRESHED_EVENT = 'bugnest:token-refreshed';
+
+let refreshInFlight = null;
+
+async function rotateTokens(rejectedToken) {
+    // Another tab (or an earlier waiter) may have rotated while we queued for the lock
+    const current = localStorage.getItem('token');
+    if (current && current !== rejectedToken) {
+        return current;
+    }
+    const refreshToken = localStorage.getItem('refreshToken');
+    if (!refreshToken) {
+        throw new Error('No refresh token');
+    }
+    const response = await axios.post(`${api.defaults.baseURL}/api/auth/refresh`, { refreshToken });
+    const { token, role, refreshToken: newRefreshToken } = response.data;
+    localStorage.setItem('token', token);
+    localStorage.setItem('role', role);
+    localStorage.setItem('refreshToken', newRefreshToken);
+    window.dispatchEvent(new Event(TOKEN_REFRESHED_EVENT));
+    return token;
+}
+
+/**
+ * Swaps the refresh token for a new pair once per expiry: concurrent callers in this tab share one
+ * request, and the Web Locks API serializes tabs so only the first one hits the server.
+ * Resolves to the access token to use from now on.
+ */
+export function refreshAccessToken(rejectedToken) {
+    if (!refreshInFlight) {
+        const run = () => rotateTokens(rejectedToken);
+        refreshInFlight = (navigator.locks ? navigator.locks.request(REFRESH_LOCK, run) : run())
+            .finally(() => {
+                refreshInFlight = null;
+            });
+    }
+    return refreshInFlight;
+}
+
+function sentToken(config) {
+    const h = config.headers;
+    const auth = typeof h.get === 'function'
+        ? h.get('Authorization') || h.get('authorization')
+        : h.Authorization || h.authorization;
+    return auth.slice('Bearer '.length);
+}
+
 api.interceptors.response.use(
     (res) => res,
-    (err) => {
+    async (err) => {
         // Only treat as "session invalid" if we sent a JWT and the server rejected it.
         // 401 without Authorization (e.g. race, misconfigured request) must not wipe login.
         if (err.response?.status === 401 && requestSentBearerAuthorization(err.config)) {
+            if (!err.config._retried && localStorage.getItem('refreshToken')) {
+                let token = null;
+                try {
+                    token = await refreshAccessToken(sentToken(err.config));
+                } catch {
+                    // refresh token expired or revoked: fall through to logout
+                }
+                if (token) {
+                    err.config._retried = true;
+                    err.config.headers.Authorization = `Bearer ${token}`;
+                    return api(err.config);
+                }
+            }
             localStorage.removeItem('token');
             localStorage.removeItem('role');
+            localStorage.removeItem('refreshToken');
             const path = window.location.pathname;
             if (path !== '/login' && path !== '/' && path !== '/register') {
                 window.location.assign('/login');
@@ -2,23 +2,33 @@ import { createContext, useState, useEffect } from "react";
 import { useNavigate } from "react-router-dom";
 import { jwtDecode } from "jwt-decode";
 import axios from "axios";
+import { refreshAccessToken, TOKEN_REFRESHED_EVENT } from "../api/client";
 
 const AuthContext = createContext();
 
+const API_BASE = "http://localhost:8080";
+// Renew the access token this long before it expires
+const REFRESH_MARGIN_MS = 60 * 1000;
+
+function clearStoredSession() {
+    localStorage.removeItem("token");
+    localStorage.removeItem("role");
+    localStorage.removeItem("refreshToken");
+}
+
 function readValidTokenFromStorage() {
     const t = localStorage.getItem("token");
     if (!t) return null;
     try {
         const decoded = jwtDecode(t);
-        if (decoded.exp * 1000 < Date.now()) {
-            localStorage.removeItem("token");
-            localStorage.removeItem("role");
+        // An expired access token is kept while a refresh token can renew it
+        if (decoded.exp * 1000 < Date.now() && !localStorage.getItem("refreshToken")) {
+            clearStoredSession();
             return null;
         }
         return t;
     } catch {
-        localStorage.removeItem("token");
-        localStorage.removeItem("role");
+        clearStoredSession();
         return null;
     }
 }
@@ -38,7 +48,7 @@ export const AuthProvider = ({ children }) => {
                 const decoded = jwtDecode(storedToken);
                 console.log("AuthContext Init - Decoded:", decoded);
 
-                if (decoded.exp * 1000 < Date.now()) {
+                if (decoded.exp * 1000 < Date.now() && !localStorage.getItem("refreshToken")) {
                     console.warn("AuthContext Init - Token expired");
                     return null;
                 }
@@ -58,7 +68,8 @@ export const AuthProvider = ({ children }) => {
         if (token) {
             try {
                 const decoded = jwtDecode(token);
-                if (decoded.exp * 1000 < Date.now()) {
+                const msLeft = decoded.exp * 1000 - Date.now();
+                if (msLeft <= 0 && !localStorage.getItem("refreshToken")) {
                     console.warn("AuthContext useEffect - Token expired, logging out");
                     logout();
                 } else {
@@ -67,6 +78,8 @@ export const AuthProvider = ({ children }) => {
                         console.log("AuthContext useEffect - Updating user state");
                         setUser({ role: localStorage.getItem("role"), ...decoded });
                     }
+                    const timer = setTimeout(refreshSession, Math.max(0, msLeft - REFRESH_MARGIN_MS));
+                    return () => clearTimeout(timer);
                 }
             } catch (error) {
                 console.error("AuthContext useEffect - Error decoding token:", error);
@@ -77,17 +90,51 @@ export const AuthProvider = ({ children }) => {
         }
     }, [token]);
 
+    // Pick up pairs rotated by the API client or by another tab, so the renewal timer follows them
+    useEffect(() => {
+        const sync = () => {
+            const stored = localStorage.getItem("token");
+            if (stored) {
+                setToken(stored);
+            }
+        };
+        const onStorage = (e) => {
+            if (e.key === "token") sync();
+        };
+        window.addEventListener(TOKEN_REFRESHED_EVENT, sync);
+        window.addEventListener("storage", onStorage);
+        return () => {
+            window.removeEventListener(TOKEN_REFRESHED_EVENT, sync);
+            window.removeEventListener("storage", onStorage);
+        };
+    }, []);
+
+    // Rotates the refresh token (shared with the API client and other tabs); any failure ends the session
+    const refreshSession = async () => {
+        if (!localStorage.getItem("refreshToken")) {
+            logout();
+            return;
+        }
+        try {
+            setToken(await refreshAccessToken(token));
+        } catch (error) {
+            console.error("Session refresh failed:", error);
+            logout();
+        }
+    };
+
 
     const login = async (email, password) => {
         try {
-            const response = await axios.post("http://localhost:8080/api/auth/login", {
+            const response = await axios.post(`${API_BASE}/api/auth/login`, {
                 email,
                 password,
             });
 
-            const { token, role } = response.data;
+            const { token, role, refreshToken } = response.data;
             localStorage.setItem("token", token);
             localStorage.setItem("role", role);
+            localStorage.setItem("refreshToken", refreshToken);
             setToken(token);
 
             const decoded = jwtDecode(token);
@@ -102,8 +149,14 @@ export const AuthProvider = ({ children }) => {
     };
 
     const logout = () => {
-        localStorage.removeItem("token");
-        localStorage.removeItem("role");
+        const refreshToken = localStorage.getItem("refreshToken");
+        if (refreshToken) {
+            // The access token is revoked too, so it stops working before it expires
+            const accessToken = localStorage.getItem("token");
+            const headers = accessToken ? { Authorization: `Bearer ${accessToken}` } : {};
+            axios.post(`${API_BASE}/api/auth/logout`, { refreshToken }, { headers }).catch(() => {});
+        }
+        clearStoredSession();
         setToken(null);
         setUser(null);
         navigate("/");
@@ -15,21 +15,29 @@ const downloadBlob = (blob, filename) => {
   window.URL.revokeObjectURL(url);
 };
 
+const USER_PAGE_SIZE = 50;
+
 const AdminSystemReports = () => {
   const { token } = useContext(AuthContext);
   const [tab, setTab] = useState("projects"); // projects | users
   const [loading, setLoading] = useState(true);
   const [error, setError] = useState(null);
   const [rows, setRows] = useState([]);
+  const [page, setPage] = useState(0);
+  const [totalPages, setTotalPages] = useState(1);
 
   const fetchData = async () => {
     setLoading(true);
     setError(null);
     try {
       const res = await axios.get(`${apiBase}/api/admin/reports/${tab}`, {
+        // the user report is paged; the project report is a plain list
+        params: tab === "users" ? { page, size: USER_PAGE_SIZE } : undefined,
         headers: { Authorization: `Bearer ${token}` }
       });
-      setRows(Array.isArray(res.data) ? res.data : []);
+      const data = Array.isArray(res.data) ? res.data : res.data?.content;
+      setRows(Array.isArray(data) ? data : []);
+      setTotalPages(res.data?.totalPages || 1);
     } catch (e) {
       setError(e?.response?.data?.error || "Failed to load report");
       setRows([]);
@@ -42,7 +50,12 @@ const AdminSystemReports = () => {
     if (!token) return;
     fetchData();
     // eslint-disable-next-line react-hooks/exhaustive-deps
-  }, [token, tab]);
+  }, [token, tab, page]);
+
+  const switchTab = (next) => {
+    setTab(next);
+    setPage(0);
+  };
 
   const exportCsv = async () => {
     try {
@@ -90,8 +103,8 @@ const AdminSystemReports = () => {
           <p style={{ margin: "0.25rem 0 0", color: "var(--text-secondary)" }}>Per-project and per-user metrics with CSV export.</p>
         </div>
         <div style={{ display: "flex", gap: "0.5rem", alignItems: "center" }}>
-          <button className={tab === "projects" ? "btn-primary-sm" : "btn-secondary"} style={tab === "projects" ? { padding: "0.65rem 1rem" } : {}} onClick={() => setTab("projects")}>Per Project</button>
-          <button className={tab === "users" ? "btn-primary-sm" : "btn-secondary"} style={tab === "users" ? { padding: "0.65rem 1rem" } : {}} onClick={() => setTab("users")}>Per User</button>
+          <button className={tab === "projects" ? "btn-primary-sm" : "btn-secondary"} style={tab === "projects" ? { padding: "0.65rem 1rem" } : {}} onClick={() => switchTab("projects")}>Per Project</button>
+          <button className={tab === "users" ? "btn-primary-sm" : "btn-secondary"} style={tab === "users" ? { padding: "0.65rem 1rem" } : {}} onClick={() => switchTab("users")}>Per User</button>
           <button className="btn-secondary" onClick={exportCsv}>Export CSV</button>
         </div>
       </div>
@@ -118,6 +131,14 @@ const AdminSystemReports = () => {
           ))}
         </div>
       )}
+
+      {!loading && !error && tab === "users" && totalPages > 1 && (
+        <div style={{ display: "flex", justifyContent: "flex-end", alignItems: "center", gap: "0.5rem", marginTop: "0.75rem" }}>
+          <button className="btn-secondary" disabled={page === 0} onClick={() => setPage(page - 1)}>Previous</button>
+          <span style={{ color: "var(--text-secondary)" }}>Page {page + 1} of {totalPages}</span>
+          <button className="btn-secondary" disabled={page + 1 >= totalPages} onClick={() => setPage(page + 1)}>Next</button>
+        </div>
+      )}
     </div>
   );
 };
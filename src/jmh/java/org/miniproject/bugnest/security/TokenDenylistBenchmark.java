@@ -0,0 +1,65 @@
+package org.miniproject.bugnest.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.miniproject.bugnest.repository.TokenRevocationRepository;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the revocation check AuthTokenFilter adds to every request, with 10k revoked tokens and
+ * 1k revoked users loaded. notRevoked is the common path; revoked goes through the exact-set fallback.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TokenDenylistBenchmark {
+
+    private TokenDenylist denylist;
+    private Claims live;
+    private Claims revoked;
+
+    @Setup
+    public void setUp() {
+        denylist = new TokenDenylist(10000, 0.01, 900000);
+        ReflectionTestUtils.setField(denylist, "revocationRepository", Mockito.mock(TokenRevocationRepository.class));
+        Date expiry = new Date(System.currentTimeMillis() + 900000);
+        String revokedJti = null;
+        for (int i = 0; i < 10000; i++) {
+            revokedJti = UUID.randomUUID().toString();
+            denylist.revokeToken(revokedJti, expiry);
+        }
+        for (int i = 0; i < 1000; i++) {
+            denylist.revokeAllForUser("user" + i + "@bugnest.local");
+        }
+
+        live = claims(UUID.randomUUID().toString(), "dev@bugnest.local");
+        revoked = claims(revokedJti, "dev@bugnest.local");
+    }
+
+    @Benchmark
+    public boolean notRevoked() {
+        return denylist.isRevoked(live);
+    }
+
+    @Benchmark
+    public boolean revoked() {
+        return denylist.isRevoked(revoked);
+    }
+
+    private static Claims claims(String jti, String subject) {
+        Claims claims = Jwts.claims();
+        claims.setId(jti);
+        claims.setSubject(subject);
+        claims.setIssuedAt(new Date());
+        return claims;
+    }
+}
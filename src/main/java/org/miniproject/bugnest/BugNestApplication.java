@@ -2,8 +2,10 @@ package org.miniproject.bugnest;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class BugNestApplication {
 
     public static void main(String[] args) {
@@ -0,0 +1,67 @@
+package org.miniproject.bugnest.config;
+
+import org.miniproject.bugnest.model.BugStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Fills bug_activities.from_status / to_status for STATUS_CHANGED rows written before those columns
+ * existed, by parsing their messages once. New rows carry the columns from the start, so after the
+ * first run the lookup finds nothing; it can be switched off with app.bug-activities.backfill-on-startup.
+ */
+@Component
+public class BugActivityStatusBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugActivityStatusBackfill.class);
+
+    // The message format BugService has always used for STATUS_CHANGED
+    private static final Pattern STATUS_CHANGE = Pattern.compile(" changed status from (\\w+) to (\\w+)$");
+
+    private static final String PENDING_SQL =
+            "SELECT id, message FROM bug_activities WHERE action = 'STATUS_CHANGED' AND to_status IS NULL";
+    private static final String UPDATE_SQL = "UPDATE bug_activities SET from_status = ?, to_status = ? WHERE id = ?";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.bug-activities.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(String... args) {
+        if (!backfillOnStartup) {
+            return;
+        }
+        List<Object[]> updates = new ArrayList<>();
+        jdbcTemplate.query(PENDING_SQL, rs -> {
+            Matcher m = STATUS_CHANGE.matcher(rs.getString("message"));
+            String to = m.find() ? known(m.group(2)) : null;
+            if (to != null) {
+                updates.add(new Object[]{known(m.group(1)), to, rs.getLong("id")});
+            }
+        });
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate(UPDATE_SQL, updates);
+            logger.info("Backfilled from/to status on {} STATUS_CHANGED activities", updates.size());
+        }
+    }
+
+    // "UNKNOWN" (written when the old status was null) and anything else unparseable stay null
+    private static String known(String status) {
+        try {
+            return BugStatus.valueOf(status).name();
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.miniproject.bugnest.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Populates bug_tags from the legacy comma-separated bugs.tags column for any bug that has tags
+ * but no bug_tags rows yet. Bug writes keep bug_tags in step from then on, so once every tagged bug has
+ * rows the probe finds nothing and the insert is skipped. The check is per bug rather than "bug_tags is
+ * empty": requests served before this runner, or older instances still writing only bugs.tags during a
+ * rolling deploy, must not disable it. Can be switched off with app.bug-tags.backfill-on-startup. The
+ * SQL itself is PostgreSQL-specific.
+ */
+@Component
+public class BugTagBackfill implements CommandLineRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugTagBackfill.class);
+
+    private static final String BACKFILL_SQL = """
+            INSERT INTO bug_tags (bug_id, tag)
+            SELECT DISTINCT b.id, lower(trim(t.tag))
+            FROM bugs b
+            CROSS JOIN LATERAL unnest(string_to_array(b.tags, ',')) AS t(tag)
+            WHERE b.tags IS NOT NULL
+              AND trim(t.tag) <> ''
+              AND NOT EXISTS (SELECT 1 FROM bug_tags bt WHERE bt.bug_id = b.id)
+            ON CONFLICT DO NOTHING
+            """;
+
+    private static final String PENDING_BUG_SQL = """
+            SELECT 1 FROM bugs b
+            WHERE b.tags IS NOT NULL AND b.tags <> ''
+              AND NOT EXISTS (SELECT 1 FROM bug_tags bt WHERE bt.bug_id = b.id)
+            LIMIT 1
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Value("${app.bug-tags.backfill-on-startup:true}")
+    private boolean backfillOnStartup;
+
+    @Override
+    public void run(String... args) {
+        if (!backfillOnStartup || jdbcTemplate.queryForList(PENDING_BUG_SQL, Integer.class).isEmpty()) {
+            return;
+        }
+        int inserted = jdbcTemplate.update(BACKFILL_SQL);
+        if (inserted > 0) {
+            logger.info("Backfilled {} bug_tags rows from bugs.tags", inserted);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package org.miniproject.bugnest.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * app.rate-limit.*: route classes checked in order, the first whose pattern (and method, if set) matches
+ * a request decides its bucket. Requests matching no class are not limited.
+ */
+@Data
+@Configuration
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+
+    private boolean enabled = true;
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        private String name;
+        private String pattern;
+        // Empty means any method
+        private List<String> methods = new ArrayList<>();
+        private int capacity;
+        private int refillPerMinute;
+    }
+}
@@ -1,7 +1,10 @@
 package org.miniproject.bugnest.config;
 
+import jakarta.servlet.DispatcherType;
 import org.miniproject.bugnest.security.AuthEntryPointJwt;
 import org.miniproject.bugnest.security.AuthTokenFilter;
+import org.miniproject.bugnest.security.RateLimitFilter;
+import org.miniproject.bugnest.security.RateLimiter;
 import org.miniproject.bugnest.service.CustomUserDetailsService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.context.annotation.Bean;
@@ -32,9 +35,15 @@ public class SecurityConfig {
     @Autowired
     private org.miniproject.bugnest.security.JwtUtils jwtUtils;
 
+    @Autowired
+    private org.miniproject.bugnest.security.TokenDenylist tokenDenylist;
+
+    @Autowired
+    private RateLimiter rateLimiter;
+
     @Bean
     public AuthTokenFilter authTokenFilter() {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+        return new AuthTokenFilter(jwtUtils, userDetailsService, tokenDenylist);
     }
 
     @Bean
@@ -68,7 +77,9 @@ public class SecurityConfig {
                 .exceptionHandling(exception -> exception.authenticationEntryPoint(unauthorizedHandler))
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth ->
-                        auth.requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                        // Streaming responses finish on an async dispatch of a request that was already authorized
+                        auth.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
+                            .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
                             .requestMatchers("/api/auth/**").permitAll()
                             .requestMatchers("/api/test/**").permitAll()
                             .anyRequest().authenticated()
@@ -76,6 +87,8 @@ public class SecurityConfig {
 
         http.authenticationProvider(authenticationProvider());
         http.addFilterBefore(authTokenFilter(), UsernamePasswordAuthenticationFilter.class);
+        // Not a bean: as a bean Boot would also register it as a servlet filter, ahead of authentication
+        http.addFilterAfter(new RateLimitFilter(rateLimiter), AuthTokenFilter.class);
 
         return http.build();
     }
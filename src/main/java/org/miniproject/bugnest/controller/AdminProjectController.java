@@ -5,12 +5,10 @@ import org.miniproject.bugnest.dto.ProjectResponse;
 import org.miniproject.bugnest.model.Project;
 import org.miniproject.bugnest.model.Role;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.AdminProjectService;
-import org.miniproject.bugnest.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -23,12 +21,8 @@ public class AdminProjectController {
     @Autowired
     private AdminProjectService adminProjectService;
 
-    @Autowired
-    private UserService userService;
-
     @GetMapping
-    public ResponseEntity<?> getAllProjects(@RequestParam(required = false, defaultValue = "ALL") String status) {
-        User user = getCurrentUser();
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false, defaultValue = "ALL") String status, @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
         }
@@ -37,8 +31,7 @@ public class AdminProjectController {
     }
 
     @PatchMapping("/{projectId}")
-    public ResponseEntity<?> updateProject(@PathVariable Long projectId, @RequestBody AdminProjectUpdateRequest request) {
-        User user = getCurrentUser();
+    public ResponseEntity<?> updateProject(@PathVariable Long projectId, @RequestBody AdminProjectUpdateRequest request, @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
         }
@@ -51,8 +44,7 @@ public class AdminProjectController {
     }
 
     @DeleteMapping("/{projectId}")
-    public ResponseEntity<?> deleteProject(@PathVariable Long projectId) {
-        User user = getCurrentUser();
+    public ResponseEntity<?> deleteProject(@PathVariable Long projectId, @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
         }
@@ -63,11 +55,5 @@ public class AdminProjectController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
-    }
 }
 
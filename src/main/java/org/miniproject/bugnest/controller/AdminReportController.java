@@ -1,40 +1,73 @@
 package org.miniproject.bugnest.controller;
 
+import org.miniproject.bugnest.dto.PagedResponse;
 import org.miniproject.bugnest.dto.ProjectMetricsResponse;
+import org.miniproject.bugnest.dto.ReportJobRequest;
+import org.miniproject.bugnest.dto.ReportJobResponse;
 import org.miniproject.bugnest.dto.UserMetricsResponse;
 import org.miniproject.bugnest.model.Role;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.security.CurrentUser;
+import org.miniproject.bugnest.repository.BugTrendRow;
 import org.miniproject.bugnest.service.AdminReportService;
-import org.miniproject.bugnest.service.UserService;
+import org.miniproject.bugnest.service.BugSnapshotService;
+import org.miniproject.bugnest.service.ReportJob;
+import org.miniproject.bugnest.service.ReportJobService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.InputStreamResource;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.Optional;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/admin/reports")
 public class AdminReportController {
 
+    private static final int MAX_USER_PAGE_SIZE = 200;
+    private static final int STREAM_BUFFER_SIZE = 8192;
+    private static final int DEFAULT_TREND_DAYS = 90;
+    private static final int MAX_TREND_DAYS = 3 * 366;
+
     @Autowired
     private AdminReportService adminReportService;
 
     @Autowired
-    private UserService userService;
+    private ReportJobService reportJobService;
+
+    @Autowired
+    private BugSnapshotService bugSnapshotService;
 
     @GetMapping("/projects")
-    public ResponseEntity<?> getProjectMetrics() {
-        User user = getCurrentUser();
+    public ResponseEntity<?> getProjectMetrics(@CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
         }
@@ -43,47 +76,196 @@ public class AdminReportController {
     }
 
     @GetMapping("/users")
-    public ResponseEntity<?> getUserMetrics() {
-        User user = getCurrentUser();
+    public ResponseEntity<?> getUserMetrics(@RequestParam(defaultValue = "0") int page,
+                                            @RequestParam(defaultValue = "50") int size,
+                                            @RequestParam(defaultValue = "name") String sort,
+                                            @RequestParam(defaultValue = "asc") String dir,
+                                            @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
             return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
         }
-        List<UserMetricsResponse> data = adminReportService.getUserMetrics();
-        return ResponseEntity.ok(data);
+        Sort.Direction direction = "desc".equalsIgnoreCase(dir) ? Sort.Direction.DESC : Sort.Direction.ASC;
+        Pageable pageable = PageRequest.of(Math.max(page, 0), Math.min(Math.max(size, 1), MAX_USER_PAGE_SIZE),
+                Sort.by(direction, sort));
+        try {
+            Page<UserMetricsResponse> result = adminReportService.getUserMetrics(pageable);
+            return ResponseEntity.ok(PagedResponse.<UserMetricsResponse>builder()
+                    .content(result.getContent())
+                    .page(result.getNumber())
+                    .size(result.getSize())
+                    .totalElements(result.getTotalElements())
+                    .totalPages(result.getTotalPages())
+                    .build());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
     }
 
     @GetMapping(value = "/projects/export", produces = "text/csv")
-    public ResponseEntity<byte[]> exportProjectMetricsCsv() {
-        User user = getCurrentUser();
+    public ResponseEntity<StreamingResponseBody> exportProjectMetricsCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
-            return ResponseEntity.status(403).body("Access denied".getBytes(StandardCharsets.UTF_8));
+            return accessDenied();
         }
-        String csv = adminReportService.exportProjectMetricsCsv();
-        String filename = "bugnest-project-report-" + LocalDate.now() + ".csv";
-        return ResponseEntity.ok()
-                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(new MediaType("text", "csv"))
-                .body(csv.getBytes(StandardCharsets.UTF_8));
+        return csvExport("bugnest-project-report-" + LocalDate.now() + ".csv", acceptsGzip(acceptEncoding),
+                adminReportService::writeProjectMetricsCsv);
     }
 
     @GetMapping(value = "/users/export", produces = "text/csv")
-    public ResponseEntity<byte[]> exportUserMetricsCsv() {
-        User user = getCurrentUser();
+    public ResponseEntity<StreamingResponseBody> exportUserMetricsCsv(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+            @CurrentUser User user) {
+        if (user.getRole() != Role.ADMIN) {
+            return accessDenied();
+        }
+        return csvExport("bugnest-user-report-" + LocalDate.now() + ".csv", acceptsGzip(acceptEncoding),
+                adminReportService::writeUserMetricsCsv);
+    }
+
+    @GetMapping("/trends")
+    public ResponseEntity<?> getTrends(@RequestParam(required = false) Long projectId,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                       @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                       @CurrentUser User user) {
+        if (user.getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
+        }
+        LocalDate end = to != null ? to : LocalDate.now().minusDays(1);
+        LocalDate start = from != null ? from : end.minusDays(DEFAULT_TREND_DAYS - 1);
+        if (start.isAfter(end) || ChronoUnit.DAYS.between(start, end) >= MAX_TREND_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Date range must be 1 to " + MAX_TREND_DAYS + " days"));
+        }
+        List<BugTrendRow> data = bugSnapshotService.trend(projectId, start, end);
+        return ResponseEntity.ok(data);
+    }
+
+    // Recomputes snapshots for a past range, e.g. after importing bugs or changing the rollup rules
+    @PostMapping("/trends/rollup")
+    public ResponseEntity<?> rollupTrends(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @CurrentUser User user) {
         if (user.getRole() != Role.ADMIN) {
-            return ResponseEntity.status(403).body("Access denied".getBytes(StandardCharsets.UTF_8));
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
+        }
+        // Today is still changing; a snapshot of it would go stale and the nightly run starts after it
+        if (from.isAfter(to) || !to.isBefore(LocalDate.now()) || ChronoUnit.DAYS.between(from, to) >= MAX_TREND_DAYS) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Date range must be 1 to " + MAX_TREND_DAYS + " days, ending no later than yesterday"));
+        }
+        int rows = bugSnapshotService.rollup(from, to);
+        return ResponseEntity.ok(Map.of("rows", rows));
+    }
+
+    @PostMapping("/jobs")
+    public ResponseEntity<?> startReportJob(@RequestBody ReportJobRequest request, @CurrentUser User user) {
+        if (user.getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
+        }
+        ReportJob.Report report;
+        try {
+            report = ReportJob.Report.valueOf(String.valueOf(request.getReport()).trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Unknown report: " + request.getReport()));
+        }
+        ReportJob job = reportJobService.submit(report, request.isGzip());
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/admin/reports/jobs/" + job.getId()))
+                .body(toResponse(job));
+    }
+
+    @GetMapping("/jobs/{id}")
+    public ResponseEntity<?> getReportJob(@PathVariable String id, @CurrentUser User user) {
+        if (user.getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
+        }
+        return reportJobService.find(id)
+                .<ResponseEntity<?>>map(job -> ResponseEntity.ok(toResponse(job)))
+                .orElseGet(() -> ResponseEntity.status(404).body(Map.of("error", "Report job not found")));
+    }
+
+    @GetMapping("/jobs/{id}/download")
+    public ResponseEntity<?> downloadReportJob(@PathVariable String id, @CurrentUser User user) throws IOException {
+        if (user.getRole() != Role.ADMIN) {
+            return ResponseEntity.status(403).body(Map.of("error", "Access denied"));
+        }
+        ReportJob job = reportJobService.find(id).orElse(null);
+        if (job == null) {
+            return ResponseEntity.status(404).body(Map.of("error", "Report job not found"));
+        }
+        if (job.getState() != ReportJob.State.DONE) {
+            return ResponseEntity.status(409).body(Map.of("error", "Report is not ready", "status", job.getState().name()));
+        }
+        // The stream holds off expiry until the converter closes it, or for the grace period if it never does
+        Optional<InputStream> file = reportJobService.openDownload(job);
+        if (file.isEmpty()) {
+            return ResponseEntity.status(404).body(Map.of("error", "Report job not found"));
         }
-        String csv = adminReportService.exportUserMetricsCsv();
-        String filename = "bugnest-user-report-" + LocalDate.now() + ".csv";
         return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + job.getFilename() + "\"")
+                .contentType(job.isGzip() ? new MediaType("application", "gzip") : new MediaType("text", "csv", StandardCharsets.UTF_8))
+                .body(new InputStreamResource(file.get()));
+    }
+
+    private ReportJobResponse toResponse(ReportJob job) {
+        return ReportJobResponse.builder()
+                .id(job.getId())
+                .report(job.getReport().name())
+                .status(job.getState().name())
+                .progress(job.getProgress())
+                .rowsWritten(job.getRowsWritten())
+                .totalRows(job.getTotalRows())
+                .gzip(job.isGzip())
+                .error(job.getError())
+                .createdAt(job.getCreatedAt())
+                .finishedAt(job.getFinishedAt())
+                .expiresAt(reportJobService.expiresAt(job))
+                .downloadUrl(job.getState() == ReportJob.State.DONE ? "/api/admin/reports/jobs/" + job.getId() + "/download" : null)
+                .build();
+    }
+
+    @FunctionalInterface
+    private interface CsvBody {
+        void writeTo(Writer out) throws IOException;
+    }
+
+    // Rows are encoded and (optionally) compressed as they are written, so memory use does not grow with the report.
+    private ResponseEntity<StreamingResponseBody> csvExport(String filename, boolean gzip, CsvBody csv) {
+        StreamingResponseBody body = out -> {
+            GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, STREAM_BUFFER_SIZE) : null;
+            Writer writer = new BufferedWriter(new OutputStreamWriter(gzip ? compressed : out, StandardCharsets.UTF_8),
+                    STREAM_BUFFER_SIZE);
+            csv.writeTo(writer);
+            writer.flush();
+            if (compressed != null) {
+                compressed.finish();
+            }
+        };
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
                 .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + filename + "\"")
-                .contentType(new MediaType("text", "csv"))
-                .body(csv.getBytes(StandardCharsets.UTF_8));
+                .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING)
+                .contentType(new MediaType("text", "csv", StandardCharsets.UTF_8));
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
+    private static ResponseEntity<StreamingResponseBody> accessDenied() {
+        return ResponseEntity.status(403).body(out -> out.write("Access denied".getBytes(StandardCharsets.UTF_8)));
     }
-}
 
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (!"gzip".equalsIgnoreCase(parts[0].trim())) {
+                continue;
+            }
+            // "gzip;q=0" explicitly refuses it
+            return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+        }
+        return false;
+    }
+}
@@ -1,10 +1,17 @@
 package org.miniproject.bugnest.controller;
 
+import io.jsonwebtoken.Claims;
+import jakarta.servlet.http.HttpServletRequest;
 import org.miniproject.bugnest.dto.AuthResponse;
 import org.miniproject.bugnest.dto.LoginRequest;
+import org.miniproject.bugnest.dto.RefreshTokenRequest;
+import org.miniproject.bugnest.model.User;
 import org.miniproject.bugnest.repository.UserRepository;
 import org.miniproject.bugnest.security.JwtUtils;
+import org.miniproject.bugnest.security.LoginGuard;
+import org.miniproject.bugnest.security.TokenDenylist;
 import org.miniproject.bugnest.service.CustomUserDetailsService;
+import org.miniproject.bugnest.service.RefreshTokenService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -27,11 +34,22 @@ public class AuthController {
     @Autowired
     JwtUtils jwtUtils;
 
+    @Autowired
+    LoginGuard loginGuard;
+
+    @Autowired
+    RefreshTokenService refreshTokenService;
+
+    @Autowired
+    TokenDenylist tokenDenylist;
+
     @PostMapping("/login")
-    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest) {
+    public ResponseEntity<?> authenticateUser(@RequestBody LoginRequest loginRequest, HttpServletRequest request) {
 
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword()));
+        loginGuard.checkRate(request.getRemoteAddr(), loginRequest.getEmail());
+        // BCrypt runs on the login pool, not on this request thread's CPU budget
+        Authentication authentication = loginGuard.verify(() -> authenticationManager.authenticate(
+                new UsernamePasswordAuthenticationToken(loginRequest.getEmail(), loginRequest.getPassword())));
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = jwtUtils.generateJwtToken(authentication);
@@ -49,7 +67,30 @@ public class AuthController {
             role = role.substring(5);
         }
 
-        return ResponseEntity.ok(new AuthResponse(jwt, role));
+        String refreshToken = refreshTokenService.issue(userService.getUserPixel(userDetails.getUsername()));
+
+        return ResponseEntity.ok(new AuthResponse(jwt, role, refreshToken));
+    }
+
+    @PostMapping("/refresh")
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request) {
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        User user = rotation.getUser();
+        String jwt = jwtUtils.generateTokenFromUsername(user.getEmail());
+        return ResponseEntity.ok(new AuthResponse(jwt, user.getRole().name(), rotation.getRefreshToken()));
+    }
+
+    @PostMapping("/logout")
+    public ResponseEntity<?> logout(@RequestBody RefreshTokenRequest request, HttpServletRequest httpRequest) {
+        refreshTokenService.revoke(request.getRefreshToken());
+        String header = httpRequest.getHeader("Authorization");
+        if (header != null && header.startsWith("Bearer ")) {
+            Claims claims = jwtUtils.parseValidatedClaims(header.substring(7));
+            if (claims != null) {
+                tokenDenylist.revokeToken(claims.getId(), claims.getExpiration());
+            }
+        }
+        return ResponseEntity.ok(java.util.Map.of("message", "Logged out"));
     }
 
     @Autowired
@@ -1,6 +1,8 @@
 package org.miniproject.bugnest.controller;
 
+import org.miniproject.bugnest.dto.BugBulkUpdateRequest;
 import org.miniproject.bugnest.dto.BugCreateRequest;
+import org.miniproject.bugnest.dto.BugFacetsResponse;
 import org.miniproject.bugnest.dto.BugAttachmentRequest;
 import org.miniproject.bugnest.dto.BugAttachmentResponse;
 import org.miniproject.bugnest.dto.BugCommentRequest;
@@ -10,23 +12,31 @@ import org.miniproject.bugnest.dto.BugActivityResponse;
 import org.miniproject.bugnest.dto.PagedResponse;
 import org.miniproject.bugnest.model.BugAttachment;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.BugVersion;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.BugService;
-import org.miniproject.bugnest.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.core.io.FileSystemResource;
 import org.springframework.core.io.Resource;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.server.ResponseStatusException;
+import tools.jackson.databind.json.JsonMapper;
 
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.ZoneId;
 import java.util.List;
 import java.util.Map;
 
@@ -38,37 +48,68 @@ public class BugController {
     private BugService bugService;
 
     @Autowired
-    private UserService userService;
+    private JsonMapper jsonMapper;
 
     @GetMapping("/projects/{projectId}/bugs")
-    public ResponseEntity<List<BugResponse>> getBugs(@PathVariable Long projectId) {
-        User user = getCurrentUser();
-        return ResponseEntity.ok(bugService.getBugsByProject(projectId, user));
+    public ResponseEntity<List<?>> getBugs(@PathVariable Long projectId,
+                                           @RequestParam(defaultValue = "full") String view,
+                                           WebRequest request, @CurrentUser User user) {
+        boolean summary = isSummaryView(view);
+        // The visible subset depends on the caller, so the user id is part of the tag
+        String scope = "project-" + projectId + "-u" + user.getId() + (summary ? "-summary" : "");
+        if (notModified(request, bugService.getProjectBugsVersion(projectId, user), scope)) {
+            return null;
+        }
+        return ResponseEntity.ok(summary
+                ? bugService.getBugSummariesByProject(projectId, user)
+                : bugService.getBugsByProject(projectId, user));
     }
 
     @GetMapping("/bugs")
-    public ResponseEntity<List<BugResponse>> getAllBugs() {
-        User user = getCurrentUser();
-        return ResponseEntity.ok(bugService.getAllBugsForUser(user));
+    public ResponseEntity<List<?>> getAllBugs(@RequestParam(defaultValue = "full") String view, @CurrentUser User user) {
+        return ResponseEntity.ok(isSummaryView(view)
+                ? bugService.getAllBugSummariesForUser(user)
+                : bugService.getAllBugsForUser(user));
     }
 
     @GetMapping("/bugs/paged")
-    public ResponseEntity<PagedResponse<BugResponse>> getBugsPaged(
+    public ResponseEntity<PagedResponse<?>> getBugsPaged(
             @RequestParam(required = false) Long projectId,
             @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "any") String tagMatch,
             @RequestParam(required = false) String severity,
             @RequestParam(required = false) Boolean overdue,
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "20") int size,
             @RequestParam(defaultValue = "updatedAt") String sort,
-            @RequestParam(defaultValue = "desc") String dir
+            @RequestParam(defaultValue = "desc") String dir,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "false") boolean includeTotal,
+            @RequestParam(defaultValue = "full") String view,
+            @CurrentUser User user
     ) {
-        User user = getCurrentUser();
+        boolean summary = isSummaryView(view);
         Sort.Direction direction = "asc".equalsIgnoreCase(dir) ? Sort.Direction.ASC : Sort.Direction.DESC;
+        boolean matchAllTags = "all".equalsIgnoreCase(tagMatch);
+
+        // Cursor mode: any "cursor" param (empty for the first page) switches to keyset pagination on updatedAt.
+        if (cursor != null) {
+            if (!"updatedAt".equals(sort)) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cursor pagination only supports sort=updatedAt");
+            }
+            return ResponseEntity.ok(summary
+                    ? bugService.getBugSummariesAfterCursor(user, projectId, tag, matchAllTags, severity, overdue,
+                            cursor, Math.max(size, 1), direction, includeTotal)
+                    : bugService.getBugsAfterCursor(user, projectId, tag, matchAllTags, severity, overdue,
+                            cursor, Math.max(size, 1), direction, includeTotal));
+        }
+
         Pageable pageable = PageRequest.of(page, size, Sort.by(direction, sort));
-        Page<BugResponse> result = bugService.getPagedBugsForUser(user, projectId, tag, severity, overdue, pageable);
-        return ResponseEntity.ok(PagedResponse.<BugResponse>builder()
-                .content(result.getContent())
+        Page<?> result = summary
+                ? bugService.getPagedBugSummariesForUser(user, projectId, tag, matchAllTags, severity, overdue, pageable)
+                : bugService.getPagedBugsForUser(user, projectId, tag, matchAllTags, severity, overdue, pageable);
+        return ResponseEntity.ok(PagedResponse.<Object>builder()
+                .content(List.<Object>copyOf(result.getContent()))
                 .page(result.getNumber())
                 .size(result.getSize())
                 .totalElements(result.getTotalElements())
@@ -76,34 +117,76 @@ public class BugController {
                 .build());
     }
 
+    @GetMapping("/bugs/facets")
+    public ResponseEntity<BugFacetsResponse> getBugFacets(
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(required = false) String tag,
+            @RequestParam(defaultValue = "any") String tagMatch,
+            @RequestParam(required = false) String severity,
+            @RequestParam(required = false) Boolean overdue,
+            @CurrentUser User user
+    ) {
+        return ResponseEntity.ok(bugService.getBugFacets(user, projectId, tag, "all".equalsIgnoreCase(tagMatch), severity, overdue));
+    }
+
+    @GetMapping("/bugs/search")
+    public ResponseEntity<List<BugResponse>> searchBugs(
+            @RequestParam String q,
+            @RequestParam(required = false) Long projectId,
+            @RequestParam(defaultValue = "20") int limit,
+            @CurrentUser User user
+    ) {
+        return ResponseEntity.ok(bugService.searchBugs(user, q, projectId, Math.min(Math.max(limit, 1), 100)));
+    }
+
+    // Newline-delimited JSON export; rows are written as they are read, so memory use does not grow with the result.
+    @GetMapping(value = "/bugs/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamBugs(@CurrentUser User user) {
+        StreamingResponseBody body = out -> bugService.forEachVisibleBug(user, bug -> {
+            try {
+                out.write(jsonMapper.writeValueAsBytes(bug));
+                out.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
     @GetMapping("/bugs/assigned-to-me")
-    public ResponseEntity<List<BugResponse>> getAssignedToMe() {
-        User user = getCurrentUser();
+    public ResponseEntity<List<BugResponse>> getAssignedToMe(@CurrentUser User user) {
         return ResponseEntity.ok(bugService.getAssignedBugsForUser(user));
     }
 
     @GetMapping("/bugs/{id}")
-    public ResponseEntity<BugResponse> getBug(@PathVariable Long id) {
-        User user = getCurrentUser();
+    public ResponseEntity<BugResponse> getBug(@PathVariable Long id, WebRequest request, @CurrentUser User user) {
+        if (bugNotModified(request, bugService.getBugVersion(id, user), "bug-" + id)) {
+            return null;
+        }
         return ResponseEntity.ok(bugService.getBugById(id, user));
     }
 
     @GetMapping("/bugs/{id}/activity")
-    public ResponseEntity<List<BugActivityResponse>> getActivity(@PathVariable Long id) {
-        User user = getCurrentUser();
+    public ResponseEntity<List<BugActivityResponse>> getActivity(@PathVariable Long id, WebRequest request, @CurrentUser User user) {
+        if (notModified(request, bugService.getActivityVersion(id, user), "activity-" + id)) {
+            return null;
+        }
         return ResponseEntity.ok(bugService.getBugActivity(id, user));
     }
 
     @GetMapping("/bugs/{id}/comments")
-    public ResponseEntity<List<BugCommentResponse>> getComments(@PathVariable Long id) {
-        User user = getCurrentUser();
+    public ResponseEntity<List<BugCommentResponse>> getComments(@PathVariable Long id, WebRequest request, @CurrentUser User user) {
+        if (notModified(request, bugService.getCommentsVersion(id, user), "comments-" + id)) {
+            return null;
+        }
         return ResponseEntity.ok(bugService.getComments(id, user));
     }
 
     @PostMapping("/bugs/{id}/comments")
-    public ResponseEntity<?> addComment(@PathVariable Long id, @RequestBody BugCommentRequest request) {
+    public ResponseEntity<?> addComment(@PathVariable Long id, @RequestBody BugCommentRequest request, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             return ResponseEntity.ok(bugService.addComment(id, request, user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -111,15 +194,16 @@ public class BugController {
     }
 
     @GetMapping("/bugs/{id}/attachments")
-    public ResponseEntity<List<BugAttachmentResponse>> getAttachments(@PathVariable Long id) {
-        User user = getCurrentUser();
+    public ResponseEntity<List<BugAttachmentResponse>> getAttachments(@PathVariable Long id, WebRequest request, @CurrentUser User user) {
+        if (notModified(request, bugService.getAttachmentsVersion(id, user), "attachments-" + id)) {
+            return null;
+        }
         return ResponseEntity.ok(bugService.getAttachments(id, user));
     }
 
     @PostMapping("/bugs/{id}/attachments")
-    public ResponseEntity<?> addAttachment(@PathVariable Long id, @RequestBody BugAttachmentRequest request) {
+    public ResponseEntity<?> addAttachment(@PathVariable Long id, @RequestBody BugAttachmentRequest request, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             return ResponseEntity.ok(bugService.addAttachment(id, request, user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -127,9 +211,8 @@ public class BugController {
     }
 
     @PostMapping(value = "/bugs/{id}/attachments/upload", consumes = MediaType.MULTIPART_FORM_DATA_VALUE)
-    public ResponseEntity<?> uploadAttachment(@PathVariable Long id, @RequestPart("file") MultipartFile file) {
+    public ResponseEntity<?> uploadAttachment(@PathVariable Long id, @RequestPart("file") MultipartFile file, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             return ResponseEntity.ok(bugService.uploadAttachment(id, file, user));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
@@ -137,9 +220,8 @@ public class BugController {
     }
 
     @GetMapping("/bugs/{bugId}/attachments/{attachmentId}/download")
-    public ResponseEntity<?> downloadAttachment(@PathVariable Long bugId, @PathVariable Long attachmentId) {
+    public ResponseEntity<?> downloadAttachment(@PathVariable Long bugId, @PathVariable Long attachmentId, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             BugAttachment attachment = bugService.getAttachmentForDownload(bugId, attachmentId, user);
             Resource resource = new FileSystemResource(attachment.getStoragePath());
             if (!resource.exists()) {
@@ -157,9 +239,8 @@ public class BugController {
     }
 
     @PostMapping("/bugs")
-    public ResponseEntity<?> createBug(@RequestBody BugCreateRequest request) {
+    public ResponseEntity<?> createBug(@RequestBody BugCreateRequest request, @CurrentUser User creator) {
         try {
-            User creator = getCurrentUser();
             org.miniproject.bugnest.model.Bug bug = bugService.createBug(request, creator);
             return ResponseEntity.ok(Map.of("message", "Bug reported successfully", "bug", bug));
         } catch (Exception e) {
@@ -168,9 +249,8 @@ public class BugController {
     }
 
     @PutMapping("/bugs/{id}/status")
-    public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam String status, @RequestParam(required = false) String resolutionNotes) {
+    public ResponseEntity<?> updateStatus(@PathVariable Long id, @RequestParam String status, @RequestParam(required = false) String resolutionNotes, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             bugService.updateBugStatus(id, status, resolutionNotes, user);
             return ResponseEntity.ok(Map.of("message", "Bug status updated to " + status));
         } catch (Exception e) {
@@ -179,9 +259,8 @@ public class BugController {
     }
 
     @PutMapping("/bugs/{id}/assign")
-    public ResponseEntity<?> assignBug(@PathVariable Long id, @RequestParam Long userId) {
+    public ResponseEntity<?> assignBug(@PathVariable Long id, @RequestParam Long userId, @CurrentUser User manager) {
         try {
-            User manager = getCurrentUser();
             bugService.assignBug(id, userId, manager);
             return ResponseEntity.ok(Map.of("message", "Bug assigned successfully"));
         } catch (Exception e) {
@@ -189,10 +268,19 @@ public class BugController {
         }
     }
 
+    @PostMapping("/bugs/bulk")
+    public ResponseEntity<?> bulkUpdate(@RequestBody BugBulkUpdateRequest request, @CurrentUser User user) {
+        try {
+            int updated = bugService.bulkUpdate(request, user);
+            return ResponseEntity.ok(Map.of("message", updated + " bugs updated", "updated", updated));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
     @PutMapping("/bugs/{id}")
-    public ResponseEntity<?> updateBug(@PathVariable Long id, @RequestBody BugCreateRequest request) {
+    public ResponseEntity<?> updateBug(@PathVariable Long id, @RequestBody BugCreateRequest request, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             bugService.updateBug(id, request, user);
             return ResponseEntity.ok(Map.of("message", "Bug updated successfully"));
         } catch (Exception e) {
@@ -200,9 +288,40 @@ public class BugController {
         }
     }
 
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
+    // view=summary selects BugSummaryResponse, which leaves out the description and resolution notes columns
+    private boolean isSummaryView(String view) {
+        if ("summary".equalsIgnoreCase(view)) {
+            return true;
+        }
+        if (!"full".equalsIgnoreCase(view)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "view must be 'full' or 'summary'");
+        }
+        return false;
+    }
+
+    /**
+     * Sets the ETag from the version and returns true when the client's copy is current. The response
+     * has then already been turned into a 304 and the handler should return null, so no DTOs are built
+     * or serialized. Lists are validated by ETag only: their newest timestamp can stay put or go back
+     * when an entry drops out of the caller's view, so If-Modified-Since would answer 304 for a list
+     * that changed.
+     */
+    private boolean notModified(WebRequest request, BugVersion version, String scope) {
+        return version != null && request.checkNotModified(etag(version, scope));
+    }
+
+    // A single bug's updatedAt only moves forward, so it can also be validated by date
+    private boolean bugNotModified(WebRequest request, BugVersion version, String scope) {
+        return version != null && request.checkNotModified(etag(version, scope), lastModified(version));
+    }
+
+    private static String etag(BugVersion version, String scope) {
+        return "\"" + scope + "-" + version.getCount() + "-" + lastModified(version) + "\"";
+    }
+
+    private static long lastModified(BugVersion version) {
+        return version.getLastModified() != null
+                ? version.getLastModified().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli()
+                : -1;
     }
 }
@@ -2,12 +2,10 @@ package org.miniproject.bugnest.controller;
 
 import org.miniproject.bugnest.dto.NotificationResponse;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.NotificationService;
-import org.miniproject.bugnest.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -20,36 +18,24 @@ public class NotificationController {
     @Autowired
     private NotificationService notificationService;
 
-    @Autowired
-    private UserService userService;
-
     @GetMapping
-    public ResponseEntity<List<NotificationResponse>> list() {
-        User user = getCurrentUser();
+    public ResponseEntity<List<NotificationResponse>> list(@CurrentUser User user) {
         return ResponseEntity.ok(notificationService.getNotifications(user));
     }
 
     @GetMapping("/unread-count")
-    public ResponseEntity<Map<String, Long>> unreadCount() {
-        User user = getCurrentUser();
+    public ResponseEntity<Map<String, Long>> unreadCount(@CurrentUser User user) {
         return ResponseEntity.ok(Map.of("unread", notificationService.getUnreadCount(user)));
     }
 
     @PutMapping("/{id}/read")
-    public ResponseEntity<?> markRead(@PathVariable Long id) {
+    public ResponseEntity<?> markRead(@PathVariable Long id, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             notificationService.markAsRead(id, user);
             return ResponseEntity.ok(Map.of("message", "Marked as read"));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
-    }
 }
 
@@ -2,14 +2,12 @@ package org.miniproject.bugnest.controller;
 
 import org.miniproject.bugnest.dto.*;
 import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.ProjectService;
-import org.miniproject.bugnest.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -24,13 +22,9 @@ public class ProjectController {
     @Autowired
     private ProjectService projectService;
 
-    @Autowired
-    private UserService userService;
-
     @PostMapping
-    public ResponseEntity<?> createProject(@RequestBody ProjectCreateRequest request) {
+    public ResponseEntity<?> createProject(@RequestBody ProjectCreateRequest request, @CurrentUser User creator) {
         try {
-            User creator = getCurrentUser();
             Project project = projectService.createProject(request, creator);
             return ResponseEntity.ok(Map.of("message", "Project created successfully", "project", project));
         } catch (Exception e) {
@@ -40,8 +34,7 @@ public class ProjectController {
     }
 
     @GetMapping
-    public ResponseEntity<List<ProjectResponse>> getProjects() {
-        User user = getCurrentUser();
+    public ResponseEntity<List<ProjectResponse>> getProjects(@CurrentUser User user) {
         return ResponseEntity.ok(projectService.getProjectsForUser(user));
     }
 
@@ -51,9 +44,8 @@ public class ProjectController {
     }
 
     @PostMapping("/{id}/invite")
-    public ResponseEntity<?> inviteMember(@PathVariable Long id, @RequestBody ProjectInviteRequest request) {
+    public ResponseEntity<?> inviteMember(@PathVariable Long id, @RequestBody ProjectInviteRequest request, @CurrentUser User inviter) {
         try {
-            User inviter = getCurrentUser();
             projectService.inviteMember(id, request, inviter);
             return ResponseEntity.ok(Map.of("message", "Invitation sent successfully"));
         } catch (Exception e) {
@@ -62,15 +54,13 @@ public class ProjectController {
     }
 
     @GetMapping("/invites")
-    public ResponseEntity<List<ProjectMemberResponse>> getMyInvites() {
-        User user = getCurrentUser();
+    public ResponseEntity<List<ProjectMemberResponse>> getMyInvites(@CurrentUser User user) {
         return ResponseEntity.ok(projectService.getPendingInvitesForUser(user));
     }
 
     @PostMapping("/invites/{inviteId}/respond")
-    public ResponseEntity<?> respondToInvite(@PathVariable Long inviteId, @RequestParam String status) {
+    public ResponseEntity<?> respondToInvite(@PathVariable Long inviteId, @RequestParam String status, @CurrentUser User user) {
         try {
-            User user = getCurrentUser();
             ProjectMemberStatus memberStatus = ProjectMemberStatus.valueOf(status.toUpperCase());
             projectService.respondToInvite(inviteId, memberStatus, user);
             return ResponseEntity.ok(Map.of("message", "Invite " + status.toLowerCase() + "ed successfully"));
@@ -82,9 +72,8 @@ public class ProjectController {
     }
 
     @DeleteMapping("/{id}/members/{memberId}")
-    public ResponseEntity<?> removeMember(@PathVariable Long id, @PathVariable Long memberId) {
+    public ResponseEntity<?> removeMember(@PathVariable Long id, @PathVariable Long memberId, @CurrentUser User actor) {
         try {
-            User actor = getCurrentUser();
             projectService.removeMember(id, memberId, actor);
             return ResponseEntity.ok(Map.of("message", "Member removed successfully"));
         } catch (Exception e) {
@@ -96,10 +85,4 @@ public class ProjectController {
     public ResponseEntity<List<UserSummaryResponse>> getAvailableUsers(@PathVariable Long id, @RequestParam Role role) {
         return ResponseEntity.ok(projectService.getAvailableUsers(id, role));
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
-    }
 }
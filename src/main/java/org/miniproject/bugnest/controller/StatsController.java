@@ -2,12 +2,10 @@ package org.miniproject.bugnest.controller;
 
 import org.miniproject.bugnest.dto.DashboardStatsResponse;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.StatsService;
-import org.miniproject.bugnest.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.core.Authentication;
-import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -20,18 +18,8 @@ public class StatsController {
     @Autowired
     private StatsService statsService;
 
-    @Autowired
-    private UserService userService;
-
     @GetMapping("/dashboard")
-    public ResponseEntity<DashboardStatsResponse> getDashboardStats() {
-        User user = getCurrentUser();
+    public ResponseEntity<DashboardStatsResponse> getDashboardStats(@CurrentUser User user) {
         return ResponseEntity.ok(statsService.getStatsForUser(user));
     }
-
-    private User getCurrentUser() {
-        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
-        String email = authentication.getName();
-        return userService.getUserPixel(email);
-    }
 }
@@ -4,6 +4,7 @@ import org.miniproject.bugnest.dto.PasswordChangeRequest;
 import org.miniproject.bugnest.dto.ProfileUpdateRequest;
 import org.miniproject.bugnest.dto.CurrentUserResponse;
 import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.security.CurrentUser;
 import org.miniproject.bugnest.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -50,14 +51,7 @@ public class UserController {
             Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
             String email = authentication.getName();
             User user = userService.getUserPixel(email);
-            return ResponseEntity.ok(CurrentUserResponse.builder()
-                    .id(user.getId())
-                    .name(user.getName())
-                    .email(user.getEmail())
-                    .role(user.getRole() != null ? user.getRole().name() : null)
-                    .status(user.getStatus() != null ? user.getStatus().name() : null)
-                    .createdAt(user.getCreatedAt())
-                    .build());
+            return ResponseEntity.ok(toResponse(user));
         } catch (Exception e) {
              return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
@@ -83,4 +77,27 @@ public class UserController {
             return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
         }
     }
+
+    @PutMapping("/{id}/status")
+    public ResponseEntity<?> updateUserStatus(@PathVariable Long id, @RequestParam String status, @CurrentUser User admin) {
+        try {
+            User user = userService.updateUserStatus(id, org.miniproject.bugnest.model.Status.valueOf(status.toUpperCase()), admin);
+            return ResponseEntity.ok(Map.of("message", "User status updated", "user", toResponse(user)));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(Map.of("error", "Invalid status"));
+        } catch (Exception e) {
+            return ResponseEntity.badRequest().body(Map.of("error", e.getMessage()));
+        }
+    }
+
+    private static CurrentUserResponse toResponse(User user) {
+        return CurrentUserResponse.builder()
+                .id(user.getId())
+                .name(user.getName())
+                .email(user.getEmail())
+                .role(user.getRole() != null ? user.getRole().name() : null)
+                .status(user.getStatus() != null ? user.getStatus().name() : null)
+                .createdAt(user.getCreatedAt())
+                .build();
+    }
 }
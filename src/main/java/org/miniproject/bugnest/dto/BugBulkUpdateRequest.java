@@ -0,0 +1,17 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Changes left null are not touched; assigneeId 0 unassigns.
+@Data
+public class BugBulkUpdateRequest {
+    private List<Long> bugIds;
+    private String status;
+    private String resolutionNotes; // required when status is CLOSED
+    private Long assigneeId;
+    private String severity;
+    private String priority;
+    private List<String> tags; // replaces the existing tags
+}
@@ -0,0 +1,27 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+
+import java.util.List;
+import java.util.Map;
+
+@Data
+@Builder
+public class BugFacetsResponse {
+    private long total;
+    private Map<String, Long> status;
+    private Map<String, Long> severity;
+    private Map<String, Long> priority;
+    private Map<String, Long> tags; // most used first
+    private List<AssigneeCount> assignees;
+
+    @Data
+    @AllArgsConstructor
+    public static class AssigneeCount {
+        private Long assigneeId; // null = unassigned
+        private String assigneeName;
+        private long count;
+    }
+}
@@ -0,0 +1,29 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+// List/kanban variant of BugResponse without the description and resolution notes TEXT columns.
+@Data
+@Builder
+public class BugSummaryResponse {
+    private Long id;
+    private String bugId;
+    private String title;
+    private String priority;
+    private String severity;
+    private String status;
+    private List<String> tags;
+    private LocalDate dueDate;
+    private Long projectId;
+    private String projectName;
+    private String creatorName;
+    private String assigneeName;
+    private Long assigneeId;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
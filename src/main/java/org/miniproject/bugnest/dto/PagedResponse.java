@@ -11,7 +11,8 @@ public class PagedResponse<T> {
     private List<T> content;
     private int page;
     private int size;
-    private long totalElements;
-    private int totalPages;
+    private Long totalElements; // null when the count was skipped (cursor mode)
+    private Integer totalPages;
+    private String nextCursor;  // only set in cursor mode; null on the last page
 }
 
@@ -0,0 +1,8 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.Data;
+
+@Data
+public class RefreshTokenRequest {
+    private String refreshToken;
+}
@@ -0,0 +1,9 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.Data;
+
+@Data
+public class ReportJobRequest {
+    private String report;  // "projects" or "users"
+    private boolean gzip;   // store the result as .csv.gz
+}
@@ -0,0 +1,23 @@
+package org.miniproject.bugnest.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+import java.time.Instant;
+
+@Data
+@Builder
+public class ReportJobResponse {
+    private String id;
+    private String report;
+    private String status;      // QUEUED, RUNNING, DONE or FAILED
+    private int progress;       // 0-100
+    private long rowsWritten;
+    private long totalRows;     // estimate taken when the job started
+    private boolean gzip;
+    private String error;
+    private Instant createdAt;
+    private Instant finishedAt;
+    private Instant expiresAt;  // when the finished file is deleted
+    private String downloadUrl; // only set once the job is DONE
+}
@@ -8,7 +8,11 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bugs")
+@Table(name = "bugs", indexes = {
+        @Index(name = "idx_bugs_updated_at_id", columnList = "updated_at, id"),
+        @Index(name = "idx_bugs_project_updated_at_id", columnList = "project_id, updated_at, id"),
+        @Index(name = "idx_bugs_assignee_updated_at_id", columnList = "assignee_id, updated_at, id")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
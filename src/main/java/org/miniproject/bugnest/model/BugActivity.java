@@ -8,7 +8,9 @@ import lombok.NoArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "bug_activities")
+@Table(name = "bug_activities", indexes = {
+        @Index(name = "idx_bug_activities_bug_created_at", columnList = "bug_id, created_at")
+})
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
@@ -32,6 +34,16 @@ public class BugActivity {
     @Column(columnDefinition = "TEXT", nullable = false)
     private String message;
 
+    // Set on STATUS_CHANGED only, so status history can be read without parsing messages; fromStatus is
+    // null when the old status was unknown
+    @Enumerated(EnumType.STRING)
+    @Column(name = "from_status")
+    private BugStatus fromStatus;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "to_status")
+    private BugStatus toStatus;
+
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
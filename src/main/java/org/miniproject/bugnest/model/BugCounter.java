@@ -0,0 +1,37 @@
+package org.miniproject.bugnest.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Materialized bug count per (project, assignee, status), maintained by BugCounterService in the same
+ * transaction as the bug change. assigneeId is 0 for unassigned bugs so the key can be unique.
+ */
+@Entity
+@Table(name = "bug_counters",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bug_counters_key", columnNames = {"project_id", "assignee_id", "status"}),
+        indexes = @Index(name = "idx_bug_counters_assignee", columnList = "assignee_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BugCounter {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "assignee_id", nullable = false)
+    private Long assigneeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private BugStatus status;
+
+    @Column(name = "bug_count", nullable = false)
+    private long bugCount;
+}
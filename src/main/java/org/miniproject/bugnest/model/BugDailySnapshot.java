@@ -0,0 +1,73 @@
+package org.miniproject.bugnest.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * End-of-day bug counts for one project, written by BugSnapshotService. Status counts cover all bugs
+ * that existed at the end of the day; severity and overdue counts only the ones not CLOSED.
+ * createdOnDay and closedOnDay count what happened during the day.
+ */
+@Entity
+@Table(name = "bug_daily_snapshots",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bug_daily_snapshots_project_date", columnNames = {"project_id", "snapshot_date"}),
+        indexes = @Index(name = "idx_bug_daily_snapshots_date", columnList = "snapshot_date"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BugDailySnapshot {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "project_id", nullable = false)
+    private Long projectId;
+
+    @Column(name = "snapshot_date", nullable = false)
+    private LocalDate snapshotDate;
+
+    @Column(name = "open_bugs", nullable = false)
+    private int openBugs;
+
+    @Column(name = "in_progress_bugs", nullable = false)
+    private int inProgressBugs;
+
+    @Column(name = "review_bugs", nullable = false)
+    private int reviewBugs;
+
+    @Column(name = "testing_bugs", nullable = false)
+    private int testingBugs;
+
+    @Column(name = "closed_bugs", nullable = false)
+    private int closedBugs;
+
+    @Column(name = "minor_open", nullable = false)
+    private int minorOpen;
+
+    @Column(name = "major_open", nullable = false)
+    private int majorOpen;
+
+    @Column(name = "blocker_open", nullable = false)
+    private int blockerOpen;
+
+    @Column(name = "critical_open", nullable = false)
+    private int criticalOpen;
+
+    @Column(name = "overdue_open", nullable = false)
+    private int overdueOpen;
+
+    @Column(name = "created_on_day", nullable = false)
+    private int createdOnDay;
+
+    @Column(name = "closed_on_day", nullable = false)
+    private int closedOnDay;
+
+    @Column(name = "computed_at", nullable = false)
+    private LocalDateTime computedAt;
+}
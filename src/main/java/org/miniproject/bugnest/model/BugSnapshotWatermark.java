@@ -0,0 +1,28 @@
+package org.miniproject.bugnest.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Last day BugSnapshotService has rolled up for one project without a gap. Kept per project so a
+ * project whose rollup failed resumes from its own last good day instead of from the other projects'.
+ */
+@Entity
+@Table(name = "bug_snapshot_watermarks")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BugSnapshotWatermark {
+
+    @Id
+    @Column(name = "project_id")
+    private Long projectId;
+
+    // Null until the project's first rollup; the row exists so rollups have something to lock
+    @Column(name = "rolled_up_through")
+    private LocalDate rolledUpThrough;
+}
@@ -0,0 +1,36 @@
+package org.miniproject.bugnest.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One row per (bug, tag). Mirrors Bug.tags so tag filters can use the (tag, bug_id) index
+ * instead of LIKE scans over the comma-separated column.
+ */
+@Entity
+@Table(name = "bug_tags",
+        uniqueConstraints = @UniqueConstraint(name = "uk_bug_tags_bug_tag", columnNames = {"bug_id", "tag"}),
+        indexes = @Index(name = "idx_bug_tags_tag_bug", columnList = "tag, bug_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BugTag {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
+    @JoinColumn(name = "bug_id", nullable = false)
+    private Bug bug;
+
+    @Column(nullable = false)
+    private String tag; // lowercased, trimmed
+
+    public BugTag(Bug bug, String tag) {
+        this.bug = bug;
+        this.tag = tag;
+    }
+}
@@ -33,12 +33,26 @@ public class Project {
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    // Part of the conditional-GET validators of bug responses that show the project name
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     @Column(name = "status")
     private String status = "ACTIVE";
 
+    // Last bug number handed out; only ever advanced by BugNumberAllocator, never written through the entity.
+    @Column(name = "bug_seq", insertable = false, updatable = false)
+    private Long bugSeq;
+
     @PrePersist
     protected void onCreate() {
         createdAt = LocalDateTime.now();
+        updatedAt = createdAt;
         if (this.status == null) this.status = "ACTIVE";
     }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
 }
@@ -7,7 +7,7 @@ import lombok.AllArgsConstructor;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "project_members")
+@Table(name = "project_members", indexes = @Index(name = "idx_project_members_user_status", columnList = "user_id, status"))
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
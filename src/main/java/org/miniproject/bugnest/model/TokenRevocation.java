@@ -0,0 +1,41 @@
+package org.miniproject.bugnest.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A revoked access token (kind TOKEN, subject = jti) or a per-user cutoff (kind USER, subject = email) that
+ * rejects every token the user was issued up to revokedAt. Rows are only needed until the tokens they
+ * cover would have expired anyway.
+ */
+@Entity
+@Table(name = "token_revocations",
+        indexes = @Index(name = "idx_token_revocations_expires", columnList = "expires_at"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TokenRevocation {
+
+    public enum Kind { TOKEN, USER }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false, length = 10)
+    private Kind kind;
+
+    @Column(nullable = false)
+    private String subject;
+
+    @Column(name = "revoked_at", nullable = false)
+    private LocalDateTime revokedAt;
+
+    @Column(name = "expires_at", nullable = false)
+    private LocalDateTime expiresAt;
+}
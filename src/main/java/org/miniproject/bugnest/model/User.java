@@ -1,5 +1,6 @@
 package org.miniproject.bugnest.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -22,6 +23,8 @@ public class User {
     @Column(nullable = false, unique = true)
     private String email;
 
+    // Several endpoints still serialize the entity; the hash must never be part of a response
+    @JsonIgnore
     @Column(nullable = false)
     private String password;
 
@@ -36,8 +39,18 @@ public class User {
     @Column(name = "created_at", updatable = false)
     private java.time.LocalDateTime createdAt;
 
+    // Part of the conditional-GET validators of bug responses that show this user's name
+    @Column(name = "updated_at")
+    private java.time.LocalDateTime updatedAt;
+
     @PrePersist
     protected void onCreate() {
         createdAt = java.time.LocalDateTime.now();
+        updatedAt = createdAt;
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = java.time.LocalDateTime.now();
     }
 }
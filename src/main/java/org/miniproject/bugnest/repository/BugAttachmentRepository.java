@@ -3,6 +3,8 @@ package org.miniproject.bugnest.repository;
 import org.miniproject.bugnest.model.Bug;
 import org.miniproject.bugnest.model.BugAttachment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -10,5 +12,7 @@ import java.util.List;
 @Repository
 public interface BugAttachmentRepository extends JpaRepository<BugAttachment, Long> {
     List<BugAttachment> findByBugOrderByCreatedAtAsc(Bug bug);
-}
 
+    @Query("select new org.miniproject.bugnest.repository.BugVersion(max(a.createdAt), max(u.updatedAt), count(a)) from BugAttachment a left join a.uploader u where a.bug.id = :bugId")
+    BugVersion versionByBugId(@Param("bugId") Long bugId);
+}
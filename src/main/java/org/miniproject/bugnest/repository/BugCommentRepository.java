@@ -1,14 +1,30 @@
 package org.miniproject.bugnest.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.miniproject.bugnest.model.Bug;
 import org.miniproject.bugnest.model.BugComment;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface BugCommentRepository extends JpaRepository<BugComment, Long> {
     List<BugComment> findByBugOrderByCreatedAtAsc(Bug bug);
-}
 
+    // Ordered like BugRepository.streamSearchSources so the index rebuild can merge the two streams
+    @Query("select c.bug.id as bugId, c.message as message from BugComment c order by c.bug.id, c.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BugCommentSearchSource> streamSearchSources();
+
+    @Query("select new org.miniproject.bugnest.repository.BugVersion(max(c.createdAt), max(u.updatedAt), count(c)) from BugComment c left join c.author u where c.bug.id = :bugId")
+    BugVersion versionByBugId(@Param("bugId") Long bugId);
+}
@@ -0,0 +1,6 @@
+package org.miniproject.bugnest.repository;
+
+public interface BugCommentSearchSource {
+    Long getBugId();
+    String getMessage();
+}
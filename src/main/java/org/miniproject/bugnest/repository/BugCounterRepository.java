@@ -0,0 +1,33 @@
+package org.miniproject.bugnest.repository;
+
+import org.miniproject.bugnest.model.BugCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BugCounterRepository extends JpaRepository<BugCounter, Long> {
+
+    // assigned = bugs assigned to the given user
+    @Query("""
+            select new org.miniproject.bugnest.repository.BugCounterTotals(
+                sum(case when c.status <> org.miniproject.bugnest.model.BugStatus.CLOSED then c.bugCount else 0 end),
+                sum(case when c.status = org.miniproject.bugnest.model.BugStatus.CLOSED then c.bugCount else 0 end),
+                sum(case when c.assigneeId = :userId then c.bugCount else 0 end))
+            from BugCounter c
+            where c.projectId in (select m.project.id from ProjectMember m
+                                  where m.user.id = :userId and m.status = org.miniproject.bugnest.model.ProjectMemberStatus.ACCEPTED)
+            """)
+    BugCounterTotals totalsForMember(@Param("userId") Long userId);
+
+    // assigned = bugs with any assignee
+    @Query("""
+            select new org.miniproject.bugnest.repository.BugCounterTotals(
+                sum(case when c.status <> org.miniproject.bugnest.model.BugStatus.CLOSED then c.bugCount else 0 end),
+                sum(case when c.status = org.miniproject.bugnest.model.BugStatus.CLOSED then c.bugCount else 0 end),
+                sum(case when c.assigneeId <> 0 then c.bugCount else 0 end))
+            from BugCounter c
+            """)
+    BugCounterTotals totalsForAll();
+}
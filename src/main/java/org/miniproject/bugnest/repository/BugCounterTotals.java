@@ -0,0 +1,18 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.Getter;
+
+/** Dashboard sums over bug_counters. Sums come back null when no rows match, so they default to 0. */
+@Getter
+public class BugCounterTotals {
+
+    private final long open;
+    private final long closed;
+    private final long assigned;
+
+    public BugCounterTotals(Long open, Long closed, Long assigned) {
+        this.open = open != null ? open : 0;
+        this.closed = closed != null ? closed : 0;
+        this.assigned = assigned != null ? assigned : 0;
+    }
+}
@@ -0,0 +1,37 @@
+package org.miniproject.bugnest.repository;
+
+import org.miniproject.bugnest.model.BugDailySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BugDailySnapshotRepository extends JpaRepository<BugDailySnapshot, Long> {
+
+    // projectId null sums every project per day
+    @Query("""
+            select new org.miniproject.bugnest.repository.BugTrendRow(s.snapshotDate,
+                sum(s.openBugs), sum(s.inProgressBugs), sum(s.reviewBugs), sum(s.testingBugs), sum(s.closedBugs),
+                sum(s.minorOpen), sum(s.majorOpen), sum(s.blockerOpen), sum(s.criticalOpen),
+                sum(s.overdueOpen), sum(s.createdOnDay), sum(s.closedOnDay))
+            from BugDailySnapshot s
+            where (:projectId is null or s.projectId = :projectId)
+              and s.snapshotDate between :from and :to
+            group by s.snapshotDate
+            order by s.snapshotDate
+            """)
+    List<BugTrendRow> trend(@Param("projectId") Long projectId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // [projectId, latest snapshot date] for every project that has snapshots
+    @Query("select max(s.snapshotDate) from BugDailySnapshot s where s.projectId = :projectId")
+    LocalDate findLatestSnapshotDate(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("delete from BugDailySnapshot s where s.projectId = :projectId and s.snapshotDate between :from and :to")
+    int deleteRange(@Param("projectId") Long projectId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -0,0 +1,15 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// One bucket of the facet aggregation: facet is status, severity, priority, assignee, tag or total.
+@Getter
+@AllArgsConstructor
+public class BugFacetRow {
+
+    private final String facet;
+    private final String value; // null for "no severity", "unassigned" and the total row
+    private final String label; // assignee name for the assignee facet
+    private final long count;
+}
@@ -1,20 +1,22 @@
 package org.miniproject.bugnest.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.miniproject.bugnest.model.Bug;
-import org.miniproject.bugnest.model.Project;
-import org.miniproject.bugnest.model.User;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
-import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
-public interface BugRepository extends JpaRepository<Bug, Long>, JpaSpecificationExecutor<Bug> {
-    List<Bug> findByProjectOrderByUpdatedAtDesc(Project project);
-    List<Bug> findByProjectInOrderByUpdatedAtDesc(List<Project> projects);
-    List<Bug> findByAssigneeOrderByUpdatedAtDesc(User assignee);
-    long countByProject(Project project);
-    long countByStatusNot(org.miniproject.bugnest.model.BugStatus status);
-    long countByAssigneeIsNotNull();
-    long countByStatus(org.miniproject.bugnest.model.BugStatus status);
+public interface BugRepository extends JpaRepository<Bug, Long>, JpaSpecificationExecutor<Bug>, BugRepositoryCustom {
+    @Query("select b.id as id, b.project.id as projectId, a.id as assigneeId, b.title as title, " +
+           "b.description as description, b.tags as tags from Bug b left join b.assignee a order by b.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<BugSearchSource> streamSearchSources();
 }
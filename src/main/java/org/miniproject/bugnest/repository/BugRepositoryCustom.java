@@ -0,0 +1,42 @@
+package org.miniproject.bugnest.repository;
+
+import org.miniproject.bugnest.model.Bug;
+import org.miniproject.bugnest.model.BugSeverity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Stream;
+
+public interface BugRepositoryCustom {
+
+    // limit <= 0 means no limit
+    List<BugRow> findRows(Specification<Bug> spec, Sort sort, int limit);
+
+    Page<BugRow> findRows(Specification<Bug> spec, Pageable pageable);
+
+    // withText=false leaves description and resolutionNotes out of the SELECT (they come back null)
+    List<BugRow> findRows(Specification<Bug> spec, Sort sort, int limit, boolean withText);
+
+    Page<BugRow> findRows(Specification<Bug> spec, Pageable pageable, boolean withText);
+
+    // Cursor-backed stream for exports; must be consumed (and closed) inside a transaction.
+    Stream<BugRow> streamRows(Specification<Bug> spec, Sort sort, int fetchSize);
+
+    // max(updatedAt) and count(*) over the matching bugs, for ETag/Last-Modified
+    BugVersion version(Specification<Bug> spec);
+
+    /**
+     * Status, severity, priority, assignee and tag counts plus the total for the filtered scope, in one
+     * GROUPING SETS query. memberUserId limits the scope to that user's accepted projects and
+     * assigneeId to bugs assigned to that user; null means no restriction for either.
+     */
+    List<BugFacetRow> facetCounts(Long memberUserId, Long assigneeId, Long projectId, List<String> tags, boolean matchAllTags,
+                                  BugSeverity severity, LocalDate overdueBefore);
+
+    // One row per project that has bugs, all counters from a single pass over the bugs table.
+    List<ProjectBugMetricsRow> projectMetrics(LocalDate today);
+}
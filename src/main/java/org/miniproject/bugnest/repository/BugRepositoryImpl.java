@@ -0,0 +1,246 @@
+package org.miniproject.bugnest.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.TypedQuery;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.JoinType;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.jpa.HibernateHints;
+import org.miniproject.bugnest.model.Bug;
+import org.miniproject.bugnest.model.BugSeverity;
+import org.miniproject.bugnest.model.Project;
+import org.miniproject.bugnest.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Spring Data picks this up as the implementation of BugRepositoryCustom (Impl suffix).
+public class BugRepositoryImpl implements BugRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<BugRow> findRows(Specification<Bug> spec, Sort sort, int limit) {
+        return findRows(spec, sort, limit, true);
+    }
+
+    @Override
+    public Page<BugRow> findRows(Specification<Bug> spec, Pageable pageable) {
+        return findRows(spec, pageable, true);
+    }
+
+    @Override
+    public List<BugRow> findRows(Specification<Bug> spec, Sort sort, int limit, boolean withText) {
+        TypedQuery<BugRow> query = rowQuery(spec, sort, withText);
+        if (limit > 0) {
+            query.setMaxResults(limit);
+        }
+        return query.getResultList();
+    }
+
+    @Override
+    public Page<BugRow> findRows(Specification<Bug> spec, Pageable pageable, boolean withText) {
+        TypedQuery<BugRow> query = rowQuery(spec, pageable.getSort(), withText);
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        return PageableExecutionUtils.getPage(query.getResultList(), pageable, () -> countRows(spec));
+    }
+
+    @Override
+    public Stream<BugRow> streamRows(Specification<Bug> spec, Sort sort, int fetchSize) {
+        // Rows are DTOs, not entities, so nothing accumulates in the persistence context while streaming.
+        return rowQuery(spec, sort, true)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+    }
+
+    @Override
+    public BugVersion version(Specification<Bug> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BugVersion> cq = cb.createQuery(BugVersion.class);
+        Root<Bug> root = cq.from(Bug.class);
+        Join<Bug, Project> project = root.join("project");
+        Join<Bug, User> creator = root.join("creator");
+        Join<Bug, User> assignee = root.join("assignee", JoinType.LEFT);
+        cq.select(cb.construct(BugVersion.class,
+                cb.greatest(root.<LocalDateTime>get("updatedAt")),
+                cb.greatest(project.<LocalDateTime>get("updatedAt")),
+                cb.greatest(creator.<LocalDateTime>get("updatedAt")),
+                cb.greatest(assignee.<LocalDateTime>get("updatedAt")),
+                cb.count(root)));
+        if (spec != null) {
+            cq.where(spec.toPredicate(root, cq, cb));
+        }
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+
+    @Override
+    public List<BugFacetRow> facetCounts(Long memberUserId, Long assigneeId, Long projectId, List<String> tags, boolean matchAllTags,
+                                         BugSeverity severity, LocalDate overdueBefore) {
+        StringBuilder where = new StringBuilder("WHERE 1 = 1");
+        Map<String, Object> params = new HashMap<>();
+        if (memberUserId != null) {
+            where.append(" AND b.project_id IN (SELECT pm.project_id FROM project_members pm"
+                    + " WHERE pm.user_id = :memberUserId AND pm.status = 'ACCEPTED')");
+            params.put("memberUserId", memberUserId);
+        }
+        if (assigneeId != null) {
+            where.append(" AND b.assignee_id = :assigneeId");
+            params.put("assigneeId", assigneeId);
+        }
+        if (projectId != null) {
+            where.append(" AND b.project_id = :projectId");
+            params.put("projectId", projectId);
+        }
+        if (severity != null) {
+            where.append(" AND b.severity = :severity");
+            params.put("severity", severity.name());
+        }
+        if (overdueBefore != null) {
+            where.append(" AND b.due_date IS NOT NULL AND b.due_date < :today AND b.status <> 'CLOSED'");
+            params.put("today", overdueBefore);
+        }
+        if (tags != null && !tags.isEmpty()) {
+            // Same semantics as BugSpecifications.tagsMatch
+            if (!matchAllTags || tags.size() == 1) {
+                where.append(" AND EXISTS (SELECT 1 FROM bug_tags ft WHERE ft.bug_id = b.id AND ft.tag IN (:tags))");
+            } else {
+                where.append(" AND (SELECT COUNT(*) FROM bug_tags ft WHERE ft.bug_id = b.id AND ft.tag IN (:tags)) = :tagCount");
+                params.put("tagCount", tags.size());
+            }
+            params.put("tags", tags);
+        }
+
+        // The tag join fans rows out, so every bucket counts distinct bugs.
+        String sql = """
+                WITH scope AS (
+                    SELECT b.id, b.status, b.severity, b.priority, b.assignee_id, a.name AS assignee_name
+                    FROM bugs b
+                    LEFT JOIN users a ON a.id = b.assignee_id
+                    %s
+                )
+                SELECT CASE WHEN GROUPING(s.status) = 0 THEN 'status'
+                            WHEN GROUPING(s.severity) = 0 THEN 'severity'
+                            WHEN GROUPING(s.priority) = 0 THEN 'priority'
+                            WHEN GROUPING(s.assignee_id) = 0 THEN 'assignee'
+                            WHEN GROUPING(t.tag) = 0 THEN 'tag'
+                            ELSE 'total' END AS facet,
+                       COALESCE(s.status, s.severity, s.priority, CAST(s.assignee_id AS VARCHAR), t.tag) AS value,
+                       MAX(s.assignee_name) AS label,
+                       COUNT(DISTINCT s.id) AS bugs
+                FROM scope s
+                LEFT JOIN bug_tags t ON t.bug_id = s.id
+                GROUP BY GROUPING SETS ((s.status), (s.severity), (s.priority), (s.assignee_id), (t.tag), ())
+                ORDER BY bugs DESC
+                """.formatted(where);
+
+        Query query = entityManager.createNativeQuery(sql);
+        params.forEach(query::setParameter);
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        return rows.stream()
+                .map(r -> new BugFacetRow((String) r[0], (String) r[1], (String) r[2], ((Number) r[3]).longValue()))
+                .collect(Collectors.toList());
+    }
+
+    @Override
+    public List<ProjectBugMetricsRow> projectMetrics(LocalDate today) {
+        String sql = """
+                SELECT b.project_id,
+                       COUNT(*) AS total_bugs,
+                       COUNT(*) FILTER (WHERE b.status <> 'CLOSED') AS open_bugs,
+                       COUNT(*) FILTER (WHERE b.status = 'CLOSED') AS closed_bugs,
+                       COUNT(*) FILTER (WHERE b.status <> 'CLOSED' AND b.assignee_id IS NULL) AS unassigned_open,
+                       COUNT(*) FILTER (WHERE b.status <> 'CLOSED' AND b.due_date < :today) AS overdue_open,
+                       COUNT(*) FILTER (WHERE b.status <> 'CLOSED' AND b.severity IN ('CRITICAL', 'BLOCKER')) AS critical_open,
+                       MAX(b.updated_at) AS last_activity_at
+                FROM bugs b
+                GROUP BY b.project_id
+                """;
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = entityManager.createNativeQuery(sql)
+                .setParameter("today", today)
+                .getResultList();
+        return rows.stream()
+                .map(r -> new ProjectBugMetricsRow(((Number) r[0]).longValue(),
+                        ((Number) r[1]).longValue(), ((Number) r[2]).longValue(), ((Number) r[3]).longValue(),
+                        ((Number) r[4]).longValue(), ((Number) r[5]).longValue(), ((Number) r[6]).longValue(),
+                        toLocalDateTime(r[7])))
+                .collect(Collectors.toList());
+    }
+
+    private static LocalDateTime toLocalDateTime(Object value) {
+        if (value instanceof Timestamp ts) {
+            return ts.toLocalDateTime();
+        }
+        return (LocalDateTime) value;
+    }
+
+    private TypedQuery<BugRow> rowQuery(Specification<Bug> spec, Sort sort, boolean withText) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<BugRow> cq = cb.createQuery(BugRow.class);
+        Root<Bug> root = cq.from(Bug.class);
+        Join<Bug, Project> project = root.join("project");
+        Join<Bug, User> creator = root.join("creator", JoinType.LEFT);
+        Join<Bug, User> assignee = root.join("assignee", JoinType.LEFT);
+
+        cq.select(cb.construct(BugRow.class,
+                root.get("id"),
+                root.get("bugId"),
+                root.get("title"),
+                withText ? root.get("description") : cb.nullLiteral(String.class),
+                root.get("priority"),
+                root.get("severity"),
+                root.get("status"),
+                root.get("tags"),
+                root.get("dueDate"),
+                withText ? root.get("resolutionNotes") : cb.nullLiteral(String.class),
+                project.get("id"),
+                project.get("name"),
+                creator.get("name"),
+                assignee.get("id"),
+                assignee.get("name"),
+                root.get("createdAt"),
+                root.get("updatedAt")));
+
+        if (spec != null) {
+            cq.where(spec.toPredicate(root, cq, cb));
+        }
+        if (sort != null && sort.isSorted()) {
+            cq.orderBy(QueryUtils.toOrders(sort, root, cb));
+        }
+        return entityManager.createQuery(cq);
+    }
+
+    private long countRows(Specification<Bug> spec) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Long> cq = cb.createQuery(Long.class);
+        Root<Bug> root = cq.from(Bug.class);
+        cq.select(cb.count(root));
+        if (spec != null) {
+            cq.where(spec.toPredicate(root, cq, cb));
+        }
+        return entityManager.createQuery(cq).getSingleResult();
+    }
+}
@@ -0,0 +1,36 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.miniproject.bugnest.model.BugPriority;
+import org.miniproject.bugnest.model.BugSeverity;
+import org.miniproject.bugnest.model.BugStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Read-only projection of exactly the columns behind BugResponse, selected with explicit joins
+ * so list endpoints never hydrate Bug/Project/User entities.
+ */
+@Getter
+@AllArgsConstructor
+public class BugRow {
+    private Long id;
+    private String bugId;
+    private String title;
+    private String description;
+    private BugPriority priority;
+    private BugSeverity severity;
+    private BugStatus status;
+    private String tags;
+    private LocalDate dueDate;
+    private String resolutionNotes;
+    private Long projectId;
+    private String projectName;
+    private String creatorName;
+    private Long assigneeId;
+    private String assigneeName;
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+}
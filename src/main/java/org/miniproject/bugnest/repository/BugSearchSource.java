@@ -0,0 +1,11 @@
+package org.miniproject.bugnest.repository;
+
+// Columns needed to (re)build the in-memory search index for one bug.
+public interface BugSearchSource {
+    Long getId();
+    Long getProjectId();
+    Long getAssigneeId();
+    String getTitle();
+    String getDescription();
+    String getTags();
+}
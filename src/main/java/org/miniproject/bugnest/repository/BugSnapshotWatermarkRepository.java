@@ -0,0 +1,20 @@
+package org.miniproject.bugnest.repository;
+
+import jakarta.persistence.LockModeType;
+import org.miniproject.bugnest.model.BugSnapshotWatermark;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface BugSnapshotWatermarkRepository extends JpaRepository<BugSnapshotWatermark, Long> {
+
+    // SELECT ... FOR UPDATE: held until the surrounding transaction ends
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select w from BugSnapshotWatermark w where w.projectId = :projectId")
+    Optional<BugSnapshotWatermark> lockByProjectId(@Param("projectId") Long projectId);
+}
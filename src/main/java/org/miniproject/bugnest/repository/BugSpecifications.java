@@ -1,19 +1,31 @@
 package org.miniproject.bugnest.repository;
 
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Subquery;
 import org.miniproject.bugnest.model.Bug;
 import org.miniproject.bugnest.model.BugSeverity;
 import org.miniproject.bugnest.model.BugStatus;
+import org.miniproject.bugnest.model.BugTag;
 import org.miniproject.bugnest.model.Project;
+import org.miniproject.bugnest.model.ProjectMember;
+import org.miniproject.bugnest.model.ProjectMemberStatus;
+import org.miniproject.bugnest.model.Role;
 import org.miniproject.bugnest.model.User;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public final class BugSpecifications {
 
     private BugSpecifications() {}
 
+    public static Specification<Bug> idIn(List<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
     public static Specification<Bug> projectEquals(Project project) {
         return (root, query, cb) -> cb.equal(root.get("project"), project);
     }
@@ -26,6 +38,28 @@ public final class BugSpecifications {
         return (root, query, cb) -> cb.equal(root.get("assignee"), user);
     }
 
+    // Developers and Testers only see bugs assigned to them; other roles are not restricted here.
+    public static Specification<Bug> assigneeRestrictedFor(User user) {
+        return (root, query, cb) -> {
+            if (user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER) {
+                return cb.equal(root.get("assignee").get("id"), user.getId());
+            }
+            return cb.conjunction();
+        };
+    }
+
+    // Bugs in projects the user has accepted, resolved with a subquery instead of loading memberships.
+    public static Specification<Bug> inAcceptedProjectsOf(User user) {
+        return (root, query, cb) -> {
+            Subquery<Long> memberProjects = query.subquery(Long.class);
+            Root<ProjectMember> member = memberProjects.from(ProjectMember.class);
+            memberProjects.select(member.get("project").get("id"))
+                    .where(cb.equal(member.get("user").get("id"), user.getId()),
+                            cb.equal(member.get("status"), ProjectMemberStatus.ACCEPTED));
+            return root.get("project").get("id").in(memberProjects);
+        };
+    }
+
     public static Specification<Bug> severityEquals(BugSeverity severity) {
         return (root, query, cb) -> cb.equal(root.get("severity"), severity);
     }
@@ -38,22 +72,43 @@ public final class BugSpecifications {
         );
     }
 
-    public static Specification<Bug> tagEquals(String tagLower) {
+    // Keyset predicate for (updatedAt, id) ordering: rows strictly after the given position.
+    public static Specification<Bug> seekAfter(LocalDateTime updatedAt, Long id, Sort.Direction direction) {
         return (root, query, cb) -> {
-            if (tagLower == null || tagLower.isBlank()) {
-                return cb.conjunction();
+            if (direction == Sort.Direction.ASC) {
+                return cb.or(
+                        cb.greaterThan(root.get("updatedAt"), updatedAt),
+                        cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.greaterThan(root.get("id"), id))
+                );
             }
-
-            // tags stored as "a,b,c" lowercased
-            var tags = cb.lower(root.get("tags"));
-            String t = tagLower.trim().toLowerCase();
             return cb.or(
-                    cb.equal(tags, t),
-                    cb.like(tags, t + ",%"),
-                    cb.like(tags, "%," + t),
-                    cb.like(tags, "%," + t + ",%")
+                    cb.lessThan(root.get("updatedAt"), updatedAt),
+                    cb.and(cb.equal(root.get("updatedAt"), updatedAt), cb.lessThan(root.get("id"), id))
             );
         };
     }
+
+    /**
+     * Tag filter backed by the bug_tags table. matchAll=false keeps bugs carrying any of the tags,
+     * matchAll=true only bugs carrying every one of them. Tags must already be trimmed and lowercased.
+     */
+    public static Specification<Bug> tagsMatch(List<String> tags, boolean matchAll) {
+        return (root, query, cb) -> {
+            if (tags == null || tags.isEmpty()) {
+                return cb.conjunction();
+            }
+            Subquery<Long> matching = query.subquery(Long.class);
+            Root<BugTag> tag = matching.from(BugTag.class);
+            matching.where(cb.equal(tag.get("bug"), root), tag.get("tag").in(tags));
+
+            if (!matchAll || tags.size() == 1) {
+                matching.select(tag.get("id"));
+                return cb.exists(matching);
+            }
+            // (bug_id, tag) is unique, so counting matches per bug tells whether all tags are present
+            matching.select(cb.count(tag));
+            return cb.equal(matching, (long) tags.size());
+        };
+    }
 }
 
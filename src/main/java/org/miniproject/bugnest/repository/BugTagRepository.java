@@ -0,0 +1,23 @@
+package org.miniproject.bugnest.repository;
+
+import org.miniproject.bugnest.model.Bug;
+import org.miniproject.bugnest.model.BugTag;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+
+@Repository
+public interface BugTagRepository extends JpaRepository<BugTag, Long> {
+
+    @Modifying
+    @Query("delete from BugTag t where t.bug = :bug")
+    void deleteByBug(@Param("bug") Bug bug);
+
+    @Modifying
+    @Query("delete from BugTag t where t.bug.id in :bugIds")
+    void deleteByBugIdIn(@Param("bugIds") Collection<Long> bugIds);
+}
@@ -0,0 +1,42 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.Getter;
+
+import java.time.LocalDate;
+
+// One day of the trends chart: bug_daily_snapshots summed over the selected project(s).
+@Getter
+public class BugTrendRow {
+
+    private final LocalDate date;
+    private final long openBugs;
+    private final long inProgressBugs;
+    private final long reviewBugs;
+    private final long testingBugs;
+    private final long closedBugs;
+    private final long minorOpen;
+    private final long majorOpen;
+    private final long blockerOpen;
+    private final long criticalOpen;
+    private final long overdueOpen;
+    private final long createdOnDay;
+    private final long closedOnDay;
+
+    public BugTrendRow(LocalDate date, Long openBugs, Long inProgressBugs, Long reviewBugs, Long testingBugs,
+                       Long closedBugs, Long minorOpen, Long majorOpen, Long blockerOpen, Long criticalOpen,
+                       Long overdueOpen, Long createdOnDay, Long closedOnDay) {
+        this.date = date;
+        this.openBugs = openBugs;
+        this.inProgressBugs = inProgressBugs;
+        this.reviewBugs = reviewBugs;
+        this.testingBugs = testingBugs;
+        this.closedBugs = closedBugs;
+        this.minorOpen = minorOpen;
+        this.majorOpen = majorOpen;
+        this.blockerOpen = blockerOpen;
+        this.criticalOpen = criticalOpen;
+        this.overdueOpen = overdueOpen;
+        this.createdOnDay = createdOnDay;
+        this.closedOnDay = closedOnDay;
+    }
+}
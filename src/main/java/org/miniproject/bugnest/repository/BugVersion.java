@@ -0,0 +1,36 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Cheap validator for conditional GETs: the newest timestamp and the row count of whatever a response
+ * is built from. Any insert, update or delete changes at least one of the two. Responses that also show
+ * joined names (project, creator, assignee, comment author) fold in those rows' updatedAt, so renaming a
+ * user or project invalidates them too.
+ */
+@Getter
+@AllArgsConstructor
+public class BugVersion {
+
+    private final LocalDateTime lastModified; // null when there are no rows
+    private final Long count;
+
+    // Constructor expressions for queries that also take max(updatedAt) of joined rows; nulls are ignored
+    public BugVersion(LocalDateTime lastModified, LocalDateTime joinedModified, Long count) {
+        this(latest(lastModified, joinedModified), count);
+    }
+
+    public BugVersion(LocalDateTime lastModified, LocalDateTime projectModified, LocalDateTime creatorModified,
+                      LocalDateTime assigneeModified, Long count) {
+        this(latest(latest(lastModified, projectModified), latest(creatorModified, assigneeModified)), count);
+    }
+
+    private static LocalDateTime latest(LocalDateTime a, LocalDateTime b) {
+        if (a == null) return b;
+        if (b == null) return a;
+        return a.isAfter(b) ? a : b;
+    }
+}
@@ -0,0 +1,21 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.time.LocalDateTime;
+
+// Per-project bug counters for the admin report; "open" means any status other than CLOSED.
+@Getter
+@AllArgsConstructor
+public class ProjectBugMetricsRow {
+
+    private final Long projectId;
+    private final long totalBugs;
+    private final long openBugs;
+    private final long closedBugs;
+    private final long unassignedOpenBugs;
+    private final long overdueOpenBugs;
+    private final long criticalOpenBugs;
+    private final LocalDateTime lastActivityAt;
+}
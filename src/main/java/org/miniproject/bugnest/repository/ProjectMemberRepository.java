@@ -5,7 +5,10 @@ import org.miniproject.bugnest.model.ProjectMember;
 import org.miniproject.bugnest.model.ProjectMemberStatus;
 import org.miniproject.bugnest.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -18,5 +21,19 @@ public interface ProjectMemberRepository extends JpaRepository<ProjectMember, Lo
     List<ProjectMember> findByInvitedEmailAndStatus(String invitedEmail, ProjectMemberStatus status);
     // Check if user is an accepted member
     List<ProjectMember> findByUser_IdAndStatus(Long userId, ProjectMemberStatus status);
+    long countByUser_IdAndStatus(Long userId, ProjectMemberStatus status);
     boolean existsByProjectAndUserAndStatus(Project project, User user, ProjectMemberStatus status);
+
+    @Query("select new org.miniproject.bugnest.repository.ProjectMembership(m.role, m.status) from ProjectMember m " +
+            "where m.project.id = :projectId and m.user.id = :userId")
+    List<ProjectMembership> findMembership(@Param("projectId") Long projectId, @Param("userId") Long userId);
+
+    @Query("select m.project.id from ProjectMember m where m.user.id = :userId and m.status = :status and m.project.id in :projectIds")
+    List<Long> findProjectIdsByUserAndStatusAndProjectIdIn(@Param("userId") Long userId,
+                                                           @Param("status") ProjectMemberStatus status,
+                                                           @Param("projectIds") Collection<Long> projectIds);
+
+    // [projectId, count] pairs; projects without a matching member are absent
+    @Query("select m.project.id, count(m) from ProjectMember m where m.status = :status group by m.project.id")
+    List<Object[]> countByProjectAndStatus(@Param("status") ProjectMemberStatus status);
 }
@@ -0,0 +1,19 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.miniproject.bugnest.model.ProjectMemberStatus;
+import org.miniproject.bugnest.model.Role;
+
+// Role and status of one (project, user) membership, without loading the ProjectMember entity graph.
+@Getter
+@AllArgsConstructor
+public class ProjectMembership {
+
+    private final Role role;
+    private final ProjectMemberStatus status;
+
+    public boolean isAccepted() {
+        return status == ProjectMemberStatus.ACCEPTED;
+    }
+}
@@ -3,6 +3,7 @@ package org.miniproject.bugnest.repository;
 import org.miniproject.bugnest.model.Project;
 import org.miniproject.bugnest.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -11,4 +12,7 @@ import java.util.Optional;
 public interface ProjectRepository extends JpaRepository<Project, Long> {
     List<Project> findByCreator(User creator);
     Optional<Project> findByProjectKey(String projectKey);
+
+    @Query("select p from Project p join fetch p.creator")
+    List<Project> findAllWithCreator();
 }
@@ -0,0 +1,20 @@
+package org.miniproject.bugnest.repository;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+// Per-user bug counters for the admin report; "open" means any status other than CLOSED.
+@Getter
+@AllArgsConstructor
+public class UserMetricsRow {
+
+    private final Long userId;
+    private final String name;
+    private final String email;
+    private final String role;
+    private final String status;
+    private final long createdBugs;
+    private final long assignedOpenBugs;
+    private final long assignedClosedBugs;
+    private final long assignedOverdueOpenBugs;
+}
@@ -0,0 +1,20 @@
+package org.miniproject.bugnest.repository;
+
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+
+import java.time.LocalDate;
+import java.util.stream.Stream;
+
+public interface UserRepositoryCustom {
+
+    /**
+     * Created/assigned bug counts for every user, grouped in SQL. Sortable by name, email, role, status
+     * and the four counters (ties broken by id); an unpaged request returns all users without a count query.
+     */
+    Page<UserMetricsRow> userMetrics(LocalDate today, Pageable pageable);
+
+    // Same rows as userMetrics, read through a cursor for exports; must be consumed (and closed) inside a transaction.
+    Stream<UserMetricsRow> streamUserMetrics(LocalDate today, Sort sort, int fetchSize);
+}
@@ -0,0 +1,119 @@
+package org.miniproject.bugnest.repository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Spring Data picks this up as the implementation of UserRepositoryCustom (Impl suffix).
+public class UserRepositoryImpl implements UserRepositoryCustom {
+
+    // Sort properties accepted from the API, mapped to SQL expressions of the query below
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "name", "LOWER(u.name)",
+            "email", "LOWER(u.email)",
+            "role", "u.role",
+            "status", "u.status",
+            "createdBugs", "created_bugs",
+            "assignedOpenBugs", "assigned_open",
+            "assignedClosedBugs", "assigned_closed",
+            "assignedOverdueOpenBugs", "assigned_overdue_open");
+
+    private static final String METRICS_SQL = """
+            SELECT u.id, u.name, u.email, u.role, u.status,
+                   COALESCE(c.created_bugs, 0) AS created_bugs,
+                   COALESCE(a.assigned_open, 0) AS assigned_open,
+                   COALESCE(a.assigned_closed, 0) AS assigned_closed,
+                   COALESCE(a.assigned_overdue_open, 0) AS assigned_overdue_open
+            FROM users u
+            LEFT JOIN (
+                SELECT creator_id, COUNT(*) AS created_bugs
+                FROM bugs
+                GROUP BY creator_id
+            ) c ON c.creator_id = u.id
+            LEFT JOIN (
+                SELECT assignee_id,
+                       COUNT(*) FILTER (WHERE status <> 'CLOSED') AS assigned_open,
+                       COUNT(*) FILTER (WHERE status = 'CLOSED') AS assigned_closed,
+                       COUNT(*) FILTER (WHERE status <> 'CLOSED' AND due_date < :today) AS assigned_overdue_open
+                FROM bugs
+                WHERE assignee_id IS NOT NULL
+                GROUP BY assignee_id
+            ) a ON a.assignee_id = u.id
+            ORDER BY %s
+            """;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Page<UserMetricsRow> userMetrics(LocalDate today, Pageable pageable) {
+        Query query = metricsQuery(today, pageable.getSort());
+        if (pageable.isPaged()) {
+            query.setFirstResult((int) pageable.getOffset());
+            query.setMaxResults(pageable.getPageSize());
+        }
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        List<UserMetricsRow> content = rows.stream()
+                .map(UserRepositoryImpl::toRow)
+                .collect(Collectors.toList());
+
+        return PageableExecutionUtils.getPage(content, pageable, () ->
+                ((Number) entityManager.createNativeQuery("SELECT COUNT(*) FROM users").getSingleResult()).longValue());
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public Stream<UserMetricsRow> streamUserMetrics(LocalDate today, Sort sort, int fetchSize) {
+        Stream<Object[]> rows = metricsQuery(today, sort)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .getResultStream();
+        return rows.map(UserRepositoryImpl::toRow);
+    }
+
+    private Query metricsQuery(LocalDate today, Sort sort) {
+        return entityManager.createNativeQuery(METRICS_SQL.formatted(orderBy(sort)))
+                .setParameter("today", today);
+    }
+
+    private static UserMetricsRow toRow(Object[] r) {
+        return new UserMetricsRow(((Number) r[0]).longValue(), (String) r[1], (String) r[2],
+                (String) r[3], (String) r[4], ((Number) r[5]).longValue(), ((Number) r[6]).longValue(),
+                ((Number) r[7]).longValue(), ((Number) r[8]).longValue());
+    }
+
+    /**
+     * Rejects sort properties userMetrics cannot order by. Callers outside the repository check first,
+     * since the repository proxy would translate the exception into a data-access one.
+     */
+    public static void checkSort(Sort sort) {
+        for (Sort.Order order : sort) {
+            if (!SORT_COLUMNS.keySet().contains(order.getProperty())) {
+                throw new IllegalArgumentException("Unsupported sort property: " + order.getProperty());
+            }
+        }
+    }
+
+    private static String orderBy(Sort sort) {
+        checkSort(sort);
+        List<String> terms = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            terms.add(SORT_COLUMNS.get(order.getProperty()) + (order.isAscending() ? " ASC" : " DESC"));
+        }
+        terms.add("u.id");
+        return String.join(", ", terms);
+    }
+}
@@ -0,0 +1,58 @@
+package org.miniproject.bugnest.security;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.miniproject.bugnest.model.Role;
+import org.miniproject.bugnest.model.Status;
+import org.miniproject.bugnest.model.User;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal stored in the SecurityContext for JWT-authenticated requests. It carries what controllers
+ * and services need about the caller, so they do not have to look the user up again.
+ */
+@Getter
+@AllArgsConstructor
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String name;
+    private final Role role;
+    private final Status status;
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getName(), user.getRole(), user.getStatus());
+    }
+
+    // Detached User for service calls; it has no password and must not be saved.
+    public User toUser() {
+        User user = new User();
+        user.setId(id);
+        user.setEmail(email);
+        user.setName(name);
+        user.setRole(role);
+        user.setStatus(status);
+        return user;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return List.of(new SimpleGrantedAuthority("ROLE_" + role.name()));
+    }
+
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+}
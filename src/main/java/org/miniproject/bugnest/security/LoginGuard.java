@@ -0,0 +1,171 @@
+package org.miniproject.bugnest.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Admission control for password logins. BCrypt verification runs on a small CPU-sized pool with a
+ * bounded queue instead of on Tomcat request threads, so a login burst cannot starve other traffic.
+ * Callers are throttled per client IP and per account before any hashing happens; when the pool
+ * and its queue are full the login fails fast with 503 instead of waiting.
+ */
+@Component
+public class LoginGuard {
+
+    private final ThreadPoolExecutor executor;
+    private final Duration timeout;
+    private final Cache<String, TokenBucket> ipBuckets;
+    private final Cache<String, TokenBucket> accountBuckets;
+    private final int ipCapacity;
+    private final double ipRefillPerSecond;
+    private final int accountCapacity;
+    private final double accountRefillPerSecond;
+
+    private Timer hashTimer;
+    private MeterRegistry registry;
+
+    public LoginGuard(@Value("${app.login.threads:0}") int threads,
+                      @Value("${app.login.queue-capacity:64}") int queueCapacity,
+                      @Value("${app.login.timeout:10s}") Duration timeout,
+                      @Value("${app.login.ip.capacity:30}") int ipCapacity,
+                      @Value("${app.login.ip.refill-per-minute:30}") int ipRefillPerMinute,
+                      @Value("${app.login.account.capacity:10}") int accountCapacity,
+                      @Value("${app.login.account.refill-per-minute:10}") int accountRefillPerMinute,
+                      ObjectProvider<MeterRegistry> meterRegistry) {
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "login-hash-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.timeout = timeout;
+        this.ipCapacity = ipCapacity;
+        this.ipRefillPerSecond = ipRefillPerMinute / 60d;
+        this.accountCapacity = accountCapacity;
+        this.accountRefillPerSecond = accountRefillPerMinute / 60d;
+        // An idle bucket refills completely well within an hour, so dropping it loses nothing
+        this.ipBuckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofHours(1)).build();
+        this.accountBuckets = Caffeine.newBuilder().maximumSize(100_000).expireAfterAccess(Duration.ofHours(1)).build();
+
+        meterRegistry.ifAvailable(r -> {
+            this.registry = r;
+            this.hashTimer = Timer.builder("bugnest.login.hash")
+                    .description("Time spent verifying a login password")
+                    .publishPercentiles(0.5, 0.95, 0.99)
+                    .register(r);
+            Gauge.builder("bugnest.login.queue.depth", executor, e -> e.getQueue().size())
+                    .description("Logins waiting for a password verification thread")
+                    .register(r);
+            Gauge.builder("bugnest.login.active", executor, ThreadPoolExecutor::getActiveCount)
+                    .description("Password verifications in progress")
+                    .register(r);
+        });
+    }
+
+    /** Throws 429 when the client IP or the account has used up its login attempts. */
+    public void checkRate(String clientIp, String account) {
+        long now = System.nanoTime();
+        if (clientIp != null) {
+            TokenBucket bucket = ipBuckets.get(clientIp, k -> new TokenBucket(ipCapacity, ipRefillPerSecond, now));
+            if (!bucket.tryConsume(now)) {
+                throw tooManyRequests("ip", bucket.secondsUntilNext(now));
+            }
+        }
+        if (account != null) {
+            String key = account.trim().toLowerCase(Locale.ROOT);
+            TokenBucket bucket = accountBuckets.get(key, k -> new TokenBucket(accountCapacity, accountRefillPerSecond, now));
+            if (!bucket.tryConsume(now)) {
+                throw tooManyRequests("account", bucket.secondsUntilNext(now));
+            }
+        }
+    }
+
+    /**
+     * Runs the verification on the login pool and waits for it. Runtime exceptions thrown by the task
+     * (e.g. BadCredentialsException) are rethrown unchanged.
+     */
+    public <T> T verify(Callable<T> verification) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> {
+                long start = System.nanoTime();
+                try {
+                    return verification.call();
+                } finally {
+                    if (hashTimer != null) {
+                        hashTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            reject("saturated");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login is busy, please retry shortly");
+        }
+        try {
+            return future.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            reject("timeout");
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login is busy, please retry shortly");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.cancel(true);
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Login interrupted");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+            throw new RuntimeException(e.getCause());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private ResponseStatusException tooManyRequests(String reason, long retryAfterSeconds) {
+        reject(reason);
+        HttpHeaders headers = new HttpHeaders();
+        headers.set(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, retryAfterSeconds)));
+        return new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS, "Too many login attempts, please retry later") {
+            @Override
+            public HttpHeaders getHeaders() {
+                return headers;
+            }
+        };
+    }
+
+    private void reject(String reason) {
+        if (registry != null) {
+            Counter.builder("bugnest.login.rejected").tag("reason", reason).register(registry).increment();
+        }
+    }
+}
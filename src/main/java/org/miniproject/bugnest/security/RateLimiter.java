@@ -0,0 +1,112 @@
+package org.miniproject.bugnest.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.miniproject.bugnest.config.RateLimitProperties;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.server.PathContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.pattern.PathPattern;
+import org.springframework.web.util.pattern.PathPatternParser;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Token buckets per (route class, caller). Buckets live in a Caffeine cache (a striped concurrent map)
+ * and are updated with CAS, so concurrent requests never wait on each other here. Outcomes are counted
+ * per route class as bugnest.ratelimit.requests{route, outcome}.
+ */
+@Component
+public class RateLimiter {
+
+    @Getter
+    @AllArgsConstructor
+    public static class Decision {
+        private final boolean allowed;
+        private final long limit;
+        private final long remaining;
+        private final long resetSeconds;
+        private final long retryAfterSeconds;
+    }
+
+    private static final class RouteClass {
+        private final String name;
+        private final PathPattern pattern;
+        private final Set<String> methods;
+        private final int capacity;
+        private final double refillPerSecond;
+        private Counter allowed;
+        private Counter limited;
+
+        private RouteClass(RateLimitProperties.Route route) {
+            this.name = route.getName();
+            this.pattern = PathPatternParser.defaultInstance.parse(route.getPattern());
+            this.methods = route.getMethods().stream().map(m -> m.toUpperCase(Locale.ROOT)).collect(Collectors.toSet());
+            this.capacity = route.getCapacity();
+            this.refillPerSecond = route.getRefillPerMinute() / 60d;
+        }
+
+        private boolean matches(String method, PathContainer path) {
+            return (methods.isEmpty() || methods.contains(method)) && pattern.matches(path);
+        }
+    }
+
+    private record Key(String route, String caller) {}
+
+    private final boolean enabled;
+    private final List<RouteClass> routes = new ArrayList<>();
+    // An idle bucket refills completely within the hour, so evicting it loses nothing
+    private final Cache<Key, TokenBucket> buckets = Caffeine.newBuilder()
+            .maximumSize(200_000)
+            .expireAfterAccess(Duration.ofHours(1))
+            .build();
+
+    public RateLimiter(RateLimitProperties properties, ObjectProvider<MeterRegistry> meterRegistry) {
+        this.enabled = properties.isEnabled();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            routes.add(new RouteClass(route));
+        }
+        meterRegistry.ifAvailable(registry -> routes.forEach(r -> {
+            r.allowed = Counter.builder("bugnest.ratelimit.requests").tag("route", r.name).tag("outcome", "allowed").register(registry);
+            r.limited = Counter.builder("bugnest.ratelimit.requests").tag("route", r.name).tag("outcome", "limited").register(registry);
+        }));
+    }
+
+    /** Takes a token for the caller on the request's route class; null when no class applies. */
+    public Decision check(String method, String path, String caller) {
+        if (!enabled) {
+            return null;
+        }
+        PathContainer container = PathContainer.parsePath(path);
+        RouteClass route = null;
+        for (RouteClass candidate : routes) {
+            if (candidate.matches(method, container)) {
+                route = candidate;
+                break;
+            }
+        }
+        if (route == null) {
+            return null;
+        }
+
+        long now = System.nanoTime();
+        RouteClass r = route;
+        TokenBucket bucket = buckets.get(new Key(r.name, caller), k -> new TokenBucket(r.capacity, r.refillPerSecond, now));
+        boolean allowed = bucket.tryConsume(now);
+        Counter counter = allowed ? r.allowed : r.limited;
+        if (counter != null) {
+            counter.increment();
+        }
+        return new Decision(allowed, bucket.capacity(), bucket.remaining(now), bucket.secondsUntilFull(now),
+                allowed ? 0 : Math.max(1, bucket.secondsUntilNext(now)));
+    }
+}
@@ -0,0 +1,58 @@
+package org.miniproject.bugnest.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lock-free token bucket: up to {@code capacity} requests in a burst, then {@code refillPerSecond} on
+ * average. Implemented as GCRA, so the whole state is one "theoretical arrival time" updated with CAS.
+ */
+class TokenBucket {
+
+    private final long capacity;
+    private final long intervalNanos;
+    private final long burstNanos;
+    // Time at which the bucket would be full again; never behind "now - burst" in effect
+    private final AtomicLong tat;
+
+    TokenBucket(double capacity, double refillPerSecond, long nowNanos) {
+        this.capacity = Math.max(1, (long) capacity);
+        this.intervalNanos = Math.max(1, (long) (1_000_000_000d / refillPerSecond));
+        this.burstNanos = this.capacity * intervalNanos;
+        this.tat = new AtomicLong(nowNanos);
+    }
+
+    boolean tryConsume(long nowNanos) {
+        while (true) {
+            long current = tat.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            if (next - nowNanos > burstNanos) {
+                return false;
+            }
+            if (tat.compareAndSet(current, next)) {
+                return true;
+            }
+        }
+    }
+
+    long capacity() {
+        return capacity;
+    }
+
+    // Requests that would still be admitted right now
+    long remaining(long nowNanos) {
+        long backlog = Math.max(tat.get(), nowNanos) - nowNanos;
+        return Math.max(0, (burstNanos - backlog) / intervalNanos);
+    }
+
+    // Seconds until the next token is available; 0 when one is available now
+    long secondsUntilNext(long nowNanos) {
+        long wait = Math.max(tat.get(), nowNanos) + intervalNanos - nowNanos - burstNanos;
+        return wait <= 0 ? 0 : (wait + 999_999_999) / 1_000_000_000;
+    }
+
+    // Seconds until the bucket is full again
+    long secondsUntilFull(long nowNanos) {
+        long wait = tat.get() - nowNanos;
+        return wait <= 0 ? 0 : (wait + 999_999_999) / 1_000_000_000;
+    }
+}
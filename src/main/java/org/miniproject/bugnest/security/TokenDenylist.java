@@ -0,0 +1,178 @@
+package org.miniproject.bugnest.security;
+
+import io.jsonwebtoken.Claims;
+import jakarta.annotation.PostConstruct;
+import org.miniproject.bugnest.model.TokenRevocation;
+import org.miniproject.bugnest.repository.TokenRevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens (by jti) and per-user cutoffs (every token issued to the user up to a point in
+ * time). Checks go through a Bloom filter first, so the common case of a token that was never revoked
+ * costs a few hashes and no map lookup; only filter hits consult the exact maps. Revocations are
+ * persisted and the filter is rebuilt from them at startup.
+ */
+@Component
+public class TokenDenylist {
+
+    private static final char TOKEN_KEY = 't';
+    private static final char USER_KEY = 'u';
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    private final int expectedEntries;
+    private final double falsePositiveRate;
+    private final long accessTokenTtlMs;
+
+    // jti -> token expiry (epoch ms)
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+    // email -> tokens issued before this instant (epoch ms) are rejected
+    private final Map<String, Long> userCutoffs = new ConcurrentHashMap<>();
+    // email -> when the cutoff stops mattering (epoch ms)
+    private final Map<String, Long> userCutoffExpiry = new ConcurrentHashMap<>();
+
+    private volatile BloomFilter filter;
+    private int capacity;
+    private int inserted;
+
+    public TokenDenylist(@Value("${app.token-denylist.expected-entries:10000}") int expectedEntries,
+                         @Value("${app.token-denylist.false-positive-rate:0.01}") double falsePositiveRate,
+                         @Value("${app.jwtExpirationMs}") long accessTokenTtlMs) {
+        this.expectedEntries = expectedEntries;
+        this.falsePositiveRate = falsePositiveRate;
+        this.accessTokenTtlMs = accessTokenTtlMs;
+        this.capacity = expectedEntries;
+        this.filter = new BloomFilter(capacity, falsePositiveRate);
+    }
+
+    @PostConstruct
+    void load() {
+        LocalDateTime now = LocalDateTime.now();
+        revocationRepository.deleteExpired(now);
+        for (TokenRevocation r : revocationRepository.findByExpiresAtAfter(now)) {
+            if (r.getKind() == TokenRevocation.Kind.TOKEN) {
+                revokedTokens.put(r.getSubject(), toEpochMs(r.getExpiresAt()));
+            } else {
+                applyCutoff(r.getSubject(), toEpochMs(r.getRevokedAt()) + 1, toEpochMs(r.getExpiresAt()));
+            }
+        }
+        rebuild();
+    }
+
+    public boolean isRevoked(Claims claims) {
+        BloomFilter f = filter;
+        String jti = claims.getId();
+        if (jti != null && f.mightContain(TOKEN_KEY, jti) && revokedTokens.containsKey(jti)) {
+            return true;
+        }
+        String subject = claims.getSubject();
+        if (subject != null && f.mightContain(USER_KEY, subject)) {
+            Long cutoff = userCutoffs.get(subject);
+            Long issuedAtMs = issuedAtMs(claims);
+            return cutoff != null && (issuedAtMs == null || issuedAtMs < cutoff);
+        }
+        return false;
+    }
+
+    /** Logout: rejects this one access token until it expires. */
+    public void revokeToken(String jti, Date expiresAt) {
+        if (jti == null) {
+            return;
+        }
+        long expiry = expiresAt != null ? expiresAt.getTime() : System.currentTimeMillis() + accessTokenTtlMs;
+        if (expiry <= System.currentTimeMillis()) {
+            return;
+        }
+        persist(TokenRevocation.Kind.TOKEN, jti, LocalDateTime.now(), expiry);
+        revokedTokens.put(jti, expiry);
+        add(TOKEN_KEY, jti);
+    }
+
+    /** Deactivation or password change: rejects every access token issued to the user so far. */
+    public void revokeAllForUser(String email) {
+        if (email == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        long expiry = now + accessTokenTtlMs;
+        persist(TokenRevocation.Kind.USER, email, toLocalDateTime(now), expiry);
+        // Exclusive bound one past now: a token minted in the same millisecond is still rejected
+        applyCutoff(email, now + 1, expiry);
+        add(USER_KEY, email);
+    }
+
+    private void applyCutoff(String email, long cutoffMs, long expiry) {
+        userCutoffs.merge(email, cutoffMs, Math::max);
+        userCutoffExpiry.merge(email, expiry, Math::max);
+    }
+
+    private void persist(TokenRevocation.Kind kind, String subject, LocalDateTime revokedAt, long expiryMs) {
+        TokenRevocation row = new TokenRevocation();
+        row.setKind(kind);
+        row.setSubject(subject);
+        row.setRevokedAt(revokedAt);
+        row.setExpiresAt(toLocalDateTime(expiryMs));
+        revocationRepository.save(row);
+    }
+
+    // Writes are rare; synchronizing them with rebuild keeps a concurrent add from landing in a discarded filter
+    private synchronized void add(char kind, String key) {
+        filter.put(kind, key);
+        // Past its sizing the false-positive rate climbs, so rebuild without the entries that expired
+        if (++inserted > capacity) {
+            rebuild();
+        }
+    }
+
+    private synchronized void rebuild() {
+        long now = System.currentTimeMillis();
+        revokedTokens.values().removeIf(expiry -> expiry <= now);
+        userCutoffExpiry.entrySet().removeIf(e -> {
+            if (e.getValue() <= now) {
+                userCutoffs.remove(e.getKey());
+                return true;
+            }
+            return false;
+        });
+
+        int size = revokedTokens.size() + userCutoffs.size();
+        // Grow when the live entries alone would nearly fill the filter
+        capacity = Math.max(expectedEntries, size * 2);
+        BloomFilter next = new BloomFilter(capacity, falsePositiveRate);
+        revokedTokens.keySet().forEach(jti -> next.put(TOKEN_KEY, jti));
+        userCutoffs.keySet().forEach(email -> next.put(USER_KEY, email));
+        filter = next;
+        inserted = size;
+    }
+
+    /**
+     * Tokens carry their issue time in ms; older ones only have the second-precision "iat", which is
+     * floored and so errs towards rejecting a token minted in the same second as the cutoff.
+     */
+    private static Long issuedAtMs(Claims claims) {
+        Object ms = claims.get(JwtUtils.ISSUED_AT_MS_CLAIM);
+        if (ms instanceof Number n) {
+            return n.longValue();
+        }
+        Date issuedAt = claims.getIssuedAt();
+        return issuedAt != null ? issuedAt.getTime() : null;
+    }
+
+    private static long toEpochMs(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static LocalDateTime toLocalDateTime(long epochMs) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMs), ZoneId.systemDefault());
+    }
+}
@@ -4,20 +4,32 @@ import org.miniproject.bugnest.dto.ProjectMetricsResponse;
 import org.miniproject.bugnest.dto.UserMetricsResponse;
 import org.miniproject.bugnest.model.*;
 import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.ProjectBugMetricsRow;
 import org.miniproject.bugnest.repository.ProjectMemberRepository;
 import org.miniproject.bugnest.repository.ProjectRepository;
+import org.miniproject.bugnest.repository.UserMetricsRow;
 import org.miniproject.bugnest.repository.UserRepository;
+import org.miniproject.bugnest.repository.UserRepositoryImpl;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.Writer;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.*;
+import java.util.function.LongConsumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class AdminReportService {
 
+    private static final int EXPORT_FETCH_SIZE = 500;
+
     @Autowired
     private ProjectRepository projectRepository;
 
@@ -31,36 +43,23 @@ public class AdminReportService {
     private UserRepository userRepository;
 
     public List<ProjectMetricsResponse> getProjectMetrics() {
-        List<Project> projects = projectRepository.findAll().stream()
+        List<Project> projects = projectRepository.findAllWithCreator().stream()
                 .filter(p -> !"DELETED".equalsIgnoreCase(normalizeStatus(p.getStatus())))
                 .collect(Collectors.toList());
 
-        List<Bug> bugs = bugRepository.findAll();
-        Map<Long, List<Bug>> bugsByProject = bugs.stream()
-                .filter(b -> b.getProject() != null && b.getProject().getId() != null)
-                .collect(Collectors.groupingBy(b -> b.getProject().getId()));
+        Map<Long, ProjectBugMetricsRow> bugMetrics = bugRepository.projectMetrics(LocalDate.now()).stream()
+                .collect(Collectors.toMap(ProjectBugMetricsRow::getProjectId, r -> r));
+
+        Map<Long, Long> memberCounts = new HashMap<>();
+        for (Object[] row : memberRepository.countByProjectAndStatus(ProjectMemberStatus.ACCEPTED)) {
+            memberCounts.put((Long) row[0], ((Number) row[1]).longValue());
+        }
 
-        LocalDate today = LocalDate.now();
+        ProjectBugMetricsRow noBugs = new ProjectBugMetricsRow(null, 0, 0, 0, 0, 0, 0, null);
 
         List<ProjectMetricsResponse> result = new ArrayList<>();
         for (Project project : projects) {
-            List<Bug> projectBugs = bugsByProject.getOrDefault(project.getId(), List.of());
-            long total = projectBugs.size();
-            long closed = projectBugs.stream().filter(b -> b.getStatus() == BugStatus.CLOSED).count();
-            long open = projectBugs.stream().filter(b -> b.getStatus() != BugStatus.CLOSED).count();
-            long unassignedOpen = projectBugs.stream().filter(b -> b.getStatus() != BugStatus.CLOSED && b.getAssignee() == null).count();
-            long overdueOpen = projectBugs.stream().filter(b -> b.getStatus() != BugStatus.CLOSED && b.getDueDate() != null && b.getDueDate().isBefore(today)).count();
-            long criticalOpen = projectBugs.stream().filter(b -> b.getStatus() != BugStatus.CLOSED && (b.getSeverity() == BugSeverity.CRITICAL || b.getSeverity() == BugSeverity.BLOCKER)).count();
-
-            LocalDateTime lastActivityAt = projectBugs.stream()
-                    .map(Bug::getUpdatedAt)
-                    .filter(Objects::nonNull)
-                    .max(LocalDateTime::compareTo)
-                    .orElse(null);
-
-            long memberCount = memberRepository.findByProject(project).stream()
-                    .filter(m -> m.getStatus() == ProjectMemberStatus.ACCEPTED)
-                    .count();
+            ProjectBugMetricsRow m = bugMetrics.getOrDefault(project.getId(), noBugs);
 
             result.add(ProjectMetricsResponse.builder()
                     .projectId(project.getId())
@@ -68,14 +67,14 @@ public class AdminReportService {
                     .projectName(project.getName())
                     .status(normalizeStatus(project.getStatus()))
                     .creatorName(project.getCreator() != null ? project.getCreator().getName() : "Unknown")
-                    .memberCount(memberCount)
-                    .totalBugs(total)
-                    .openBugs(open)
-                    .closedBugs(closed)
-                    .unassignedOpenBugs(unassignedOpen)
-                    .overdueOpenBugs(overdueOpen)
-                    .criticalOpenBugs(criticalOpen)
-                    .lastActivityAt(lastActivityAt)
+                    .memberCount(memberCounts.getOrDefault(project.getId(), 0L))
+                    .totalBugs(m.getTotalBugs())
+                    .openBugs(m.getOpenBugs())
+                    .closedBugs(m.getClosedBugs())
+                    .unassignedOpenBugs(m.getUnassignedOpenBugs())
+                    .overdueOpenBugs(m.getOverdueOpenBugs())
+                    .criticalOpenBugs(m.getCriticalOpenBugs())
+                    .lastActivityAt(m.getLastActivityAt())
                     .build());
         }
 
@@ -83,99 +82,102 @@ public class AdminReportService {
         return result;
     }
 
-    public List<UserMetricsResponse> getUserMetrics() {
-        List<User> users = userRepository.findAll();
-        List<Bug> bugs = bugRepository.findAll();
-
-        Map<Long, List<Bug>> createdByUser = bugs.stream()
-                .filter(b -> b.getCreator() != null && b.getCreator().getId() != null)
-                .collect(Collectors.groupingBy(b -> b.getCreator().getId()));
-
-        Map<Long, List<Bug>> assignedByUser = bugs.stream()
-                .filter(b -> b.getAssignee() != null && b.getAssignee().getId() != null)
-                .collect(Collectors.groupingBy(b -> b.getAssignee().getId()));
-
-        LocalDate today = LocalDate.now();
-
-        List<UserMetricsResponse> result = new ArrayList<>();
-        for (User u : users) {
-            List<Bug> created = createdByUser.getOrDefault(u.getId(), List.of());
-            List<Bug> assigned = assignedByUser.getOrDefault(u.getId(), List.of());
-
-            long assignedOpen = assigned.stream().filter(b -> b.getStatus() != BugStatus.CLOSED).count();
-            long assignedClosed = assigned.stream().filter(b -> b.getStatus() == BugStatus.CLOSED).count();
-            long assignedOverdue = assigned.stream().filter(b -> b.getStatus() != BugStatus.CLOSED && b.getDueDate() != null && b.getDueDate().isBefore(today)).count();
-
-            result.add(UserMetricsResponse.builder()
-                    .userId(u.getId())
-                    .name(u.getName())
-                    .email(u.getEmail())
-                    .role(u.getRole() != null ? u.getRole().name() : null)
-                    .status(u.getStatus() != null ? u.getStatus().name() : null)
-                    .createdBugs(created.size())
-                    .assignedOpenBugs(assignedOpen)
-                    .assignedClosedBugs(assignedClosed)
-                    .assignedOverdueOpenBugs(assignedOverdue)
-                    .build());
-        }
+    /**
+     * @throws IllegalArgumentException for a sort property the metrics query does not support; checked here
+     *         because the repository proxy would translate it into a data-access exception
+     */
+    public Page<UserMetricsResponse> getUserMetrics(Pageable pageable) {
+        UserRepositoryImpl.checkSort(pageable.getSort());
+        return userRepository.userMetrics(LocalDate.now(), pageable).map(r -> UserMetricsResponse.builder()
+                .userId(r.getUserId())
+                .name(r.getName())
+                .email(r.getEmail())
+                .role(r.getRole())
+                .status(r.getStatus())
+                .createdBugs(r.getCreatedBugs())
+                .assignedOpenBugs(r.getAssignedOpenBugs())
+                .assignedClosedBugs(r.getAssignedClosedBugs())
+                .assignedOverdueOpenBugs(r.getAssignedOverdueOpenBugs())
+                .build());
+    }
 
-        result.sort(Comparator.comparing(UserMetricsResponse::getName, Comparator.nullsLast(String::compareToIgnoreCase)));
-        return result;
+    /**
+     * Writes the project report as CSV. Rows come from {@link #getProjectMetrics}, which is sized by the
+     * number of projects, not bugs.
+     */
+    public void writeProjectMetricsCsv(Writer out) throws IOException {
+        writeProjectMetricsCsv(out, rows -> {});
     }
 
-    public String exportProjectMetricsCsv() {
-        List<ProjectMetricsResponse> data = getProjectMetrics();
-        StringBuilder sb = new StringBuilder();
-        sb.append("projectId,projectKey,projectName,status,creatorName,memberCount,totalBugs,openBugs,closedBugs,unassignedOpenBugs,overdueOpenBugs,criticalOpenBugs,lastActivityAt\n");
-        for (ProjectMetricsResponse r : data) {
-            sb.append(csv(r.getProjectId()))
-                    .append(',').append(csv(r.getProjectKey()))
-                    .append(',').append(csv(r.getProjectName()))
-                    .append(',').append(csv(r.getStatus()))
-                    .append(',').append(csv(r.getCreatorName()))
-                    .append(',').append(r.getMemberCount())
-                    .append(',').append(r.getTotalBugs())
-                    .append(',').append(r.getOpenBugs())
-                    .append(',').append(r.getClosedBugs())
-                    .append(',').append(r.getUnassignedOpenBugs())
-                    .append(',').append(r.getOverdueOpenBugs())
-                    .append(',').append(r.getCriticalOpenBugs())
-                    .append(',').append(csv(r.getLastActivityAt() != null ? r.getLastActivityAt().toString() : ""))
-                    .append('\n');
+    // rowsWritten is called after every data row with the running count
+    public void writeProjectMetricsCsv(Writer out, LongConsumer rowsWritten) throws IOException {
+        long count = 0;
+        CsvWriter csv = new CsvWriter(out);
+        csv.header("projectId", "projectKey", "projectName", "status", "creatorName", "memberCount", "totalBugs",
+                "openBugs", "closedBugs", "unassignedOpenBugs", "overdueOpenBugs", "criticalOpenBugs", "lastActivityAt");
+        for (ProjectMetricsResponse r : getProjectMetrics()) {
+            csv.field(r.getProjectId())
+                    .field(r.getProjectKey())
+                    .field(r.getProjectName())
+                    .field(r.getStatus())
+                    .field(r.getCreatorName())
+                    .field(r.getMemberCount())
+                    .field(r.getTotalBugs())
+                    .field(r.getOpenBugs())
+                    .field(r.getClosedBugs())
+                    .field(r.getUnassignedOpenBugs())
+                    .field(r.getOverdueOpenBugs())
+                    .field(r.getCriticalOpenBugs())
+                    .field(r.getLastActivityAt())
+                    .endRow();
+            rowsWritten.accept(++count);
         }
-        return sb.toString();
     }
 
-    public String exportUserMetricsCsv() {
-        List<UserMetricsResponse> data = getUserMetrics();
-        StringBuilder sb = new StringBuilder();
-        sb.append("userId,name,email,role,status,createdBugs,assignedOpenBugs,assignedClosedBugs,assignedOverdueOpenBugs\n");
-        for (UserMetricsResponse r : data) {
-            sb.append(csv(r.getUserId()))
-                    .append(',').append(csv(r.getName()))
-                    .append(',').append(csv(r.getEmail()))
-                    .append(',').append(csv(r.getRole()))
-                    .append(',').append(csv(r.getStatus()))
-                    .append(',').append(r.getCreatedBugs())
-                    .append(',').append(r.getAssignedOpenBugs())
-                    .append(',').append(r.getAssignedClosedBugs())
-                    .append(',').append(r.getAssignedOverdueOpenBugs())
-                    .append('\n');
+    /**
+     * Writes the user report as CSV, one row per user as it is read from a JDBC cursor, so nothing
+     * proportional to the number of users is held in memory.
+     */
+    @Transactional(readOnly = true)
+    public void writeUserMetricsCsv(Writer out) throws IOException {
+        writeUserMetricsCsv(out, rows -> {});
+    }
+
+    @Transactional(readOnly = true)
+    public void writeUserMetricsCsv(Writer out, LongConsumer rowsWritten) throws IOException {
+        long count = 0;
+        CsvWriter csv = new CsvWriter(out);
+        csv.header("userId", "name", "email", "role", "status", "createdBugs", "assignedOpenBugs",
+                "assignedClosedBugs", "assignedOverdueOpenBugs");
+        try (Stream<UserMetricsRow> rows = userRepository.streamUserMetrics(LocalDate.now(), Sort.by("name"), EXPORT_FETCH_SIZE)) {
+            for (UserMetricsRow r : (Iterable<UserMetricsRow>) rows::iterator) {
+                csv.field(r.getUserId())
+                        .field(r.getName())
+                        .field(r.getEmail())
+                        .field(r.getRole())
+                        .field(r.getStatus())
+                        .field(r.getCreatedBugs())
+                        .field(r.getAssignedOpenBugs())
+                        .field(r.getAssignedClosedBugs())
+                        .field(r.getAssignedOverdueOpenBugs())
+                        .endRow();
+                rowsWritten.accept(++count);
+            }
         }
-        return sb.toString();
+    }
+
+    // Row counts used as the denominator for export progress
+    public long countProjects() {
+        return projectRepository.count();
+    }
+
+    public long countUsers() {
+        return userRepository.count();
     }
 
     private String normalizeStatus(String status) {
         if (status == null || status.isBlank()) return "ACTIVE";
         return status.trim().toUpperCase(Locale.ROOT);
     }
-
-    private String csv(Object value) {
-        if (value == null) return "";
-        String s = String.valueOf(value);
-        boolean needsQuote = s.contains(",") || s.contains("\"") || s.contains("\n") || s.contains("\r");
-        if (!needsQuote) return s;
-        return "\"" + s.replace("\"", "\"\"") + "\"";
-    }
 }
 
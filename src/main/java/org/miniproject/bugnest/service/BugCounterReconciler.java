@@ -0,0 +1,43 @@
+package org.miniproject.bugnest.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs bug_counters drift on a schedule (app.bug-counters.reconcile-cron) and once at startup, which
+ * also fills the table the first time it is deployed.
+ */
+@Component
+public class BugCounterReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugCounterReconciler.class);
+
+    @Autowired
+    private BugCounterService bugCounterService;
+
+    @Value("${app.bug-counters.reconcile-on-startup:true}")
+    private boolean reconcileOnStartup;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reconcileOnStartup() {
+        if (reconcileOnStartup) {
+            reconcile();
+        }
+    }
+
+    @Scheduled(cron = "${app.bug-counters.reconcile-cron:0 30 3 * * *}")
+    public void reconcile() {
+        try {
+            bugCounterService.reconcile();
+        } catch (RuntimeException e) {
+            // The next run retries; counters stay usable meanwhile
+            logger.error("Bug counter reconciliation failed", e);
+        }
+    }
+}
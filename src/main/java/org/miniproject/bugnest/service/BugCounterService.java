@@ -0,0 +1,164 @@
+package org.miniproject.bugnest.service;
+
+import jakarta.annotation.PostConstruct;
+import org.miniproject.bugnest.model.BugStatus;
+import org.miniproject.bugnest.repository.BugCounterRepository;
+import org.miniproject.bugnest.repository.BugCounterTotals;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Keeps bug_counters in step with bug creation, status changes and reassignment. Deltas collected during
+ * a transaction are applied just before it commits, summed per key and in key order, so a bulk update
+ * touches each counter row once and concurrent transactions lock rows in the same order.
+ */
+@Service
+public class BugCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugCounterService.class);
+
+    private static final String UPDATE_SQL =
+            "UPDATE bug_counters SET bug_count = bug_count + ? WHERE project_id = ? AND assignee_id = ? AND status = ?";
+    private static final String INSERT_SQL =
+            "INSERT INTO bug_counters (project_id, assignee_id, status, bug_count) VALUES (?, ?, ?, 0)";
+
+    // Actual counts next to counted ones, read in one statement so both come from the same snapshot
+    private static final String DRIFT_SQL = """
+            SELECT project_id, assignee_id, status, SUM(actual) AS actual, SUM(counted) AS counted
+            FROM (
+                SELECT project_id, COALESCE(assignee_id, 0) AS assignee_id, status, COUNT(*) AS actual, 0 AS counted
+                FROM bugs
+                GROUP BY project_id, COALESCE(assignee_id, 0), status
+                UNION ALL
+                SELECT project_id, assignee_id, status, 0 AS actual, bug_count AS counted
+                FROM bug_counters
+            ) x
+            GROUP BY project_id, assignee_id, status
+            HAVING SUM(actual) <> SUM(counted)
+            """;
+
+    private record Key(long projectId, long assigneeId, String status) {}
+
+    private static final Comparator<Key> KEY_ORDER = Comparator.comparingLong(Key::projectId)
+            .thenComparingLong(Key::assigneeId)
+            .thenComparing(Key::status);
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugCounterRepository bugCounterRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public void created(Long projectId, Long assigneeId, BugStatus status) {
+        add(key(projectId, assigneeId, status), 1);
+    }
+
+    public void moved(Long projectId, Long oldAssigneeId, BugStatus oldStatus, Long newAssigneeId, BugStatus newStatus) {
+        if (Objects.equals(oldAssigneeId, newAssigneeId) && oldStatus == newStatus) {
+            return;
+        }
+        add(key(projectId, oldAssigneeId, oldStatus), -1);
+        add(key(projectId, newAssigneeId, newStatus), 1);
+    }
+
+    @Transactional(readOnly = true)
+    public BugCounterTotals totalsForMember(Long userId) {
+        return bugCounterRepository.totalsForMember(userId);
+    }
+
+    @Transactional(readOnly = true)
+    public BugCounterTotals totalsForAll() {
+        return bugCounterRepository.totalsForAll();
+    }
+
+    /**
+     * Recounts bugs and corrects every counter that drifted by applying the difference as a delta, so
+     * changes committed while this runs are not overwritten. Returns the number of corrected rows.
+     */
+    @Transactional
+    public int reconcile() {
+        List<Object[]> drift = jdbcTemplate.query(DRIFT_SQL, (rs, i) -> new Object[]{
+                new Key(rs.getLong("project_id"), rs.getLong("assignee_id"), rs.getString("status")),
+                rs.getLong("actual") - rs.getLong("counted")});
+        for (Object[] row : drift) {
+            add((Key) row[0], (Long) row[1]);
+        }
+        if (!drift.isEmpty()) {
+            logger.warn("Bug counters: corrected {} drifted rows", drift.size());
+        }
+        return drift.size();
+    }
+
+    private void add(Key key, long delta) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(key, delta);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        Map<Key, Long> pending = (Map<Key, Long>) TransactionSynchronizationManager.getResource(this);
+        if (pending == null) {
+            Map<Key, Long> deltas = new TreeMap<>(KEY_ORDER);
+            pending = deltas;
+            TransactionSynchronizationManager.bindResource(this, deltas);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    deltas.forEach((k, d) -> {
+                        if (d != 0) apply(k, d);
+                    });
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(BugCounterService.this);
+                }
+            });
+        }
+        pending.merge(key, delta, Long::sum);
+    }
+
+    private void apply(Key key, long delta) {
+        if (jdbcTemplate.update(UPDATE_SQL, delta, key.projectId(), key.assigneeId(), key.status()) > 0) {
+            return;
+        }
+        // Create the row at zero in its own short transaction; a concurrent creator winning the race is fine
+        try {
+            requiresNew.executeWithoutResult(status ->
+                    jdbcTemplate.update(INSERT_SQL, key.projectId(), key.assigneeId(), key.status()));
+        } catch (DuplicateKeyException ignored) {
+            // created by someone else in the meantime
+        }
+        jdbcTemplate.update(UPDATE_SQL, delta, key.projectId(), key.assigneeId(), key.status());
+    }
+
+    private static Key key(Long projectId, Long assigneeId, BugStatus status) {
+        return new Key(projectId, assigneeId != null ? assigneeId : 0L, status.name());
+    }
+}
@@ -0,0 +1,84 @@
+package org.miniproject.bugnest.service;
+
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands out per-project bug numbers (the 101 in BNF-101) from the projects.bug_seq counter.
+ *
+ * Each reservation is a single UPDATE ... RETURNING in its own short transaction, so the project row
+ * lock is released immediately instead of being held until the bug insert commits. That transaction
+ * needs its own connection, so a caller inside a transaction holds two pooled connections until the
+ * reservation returns (see spring.datasource.hikari.maximum-pool-size). With a block size
+ * above 1 a whole range is reserved at once and handed out from memory; numbers left unused at shutdown
+ * or by a rolled-back insert are skipped, never reused.
+ */
+@Service
+public class BugNumberAllocator {
+
+    // bug_seq starts out null for existing projects and is seeded from the highest number already issued
+    private static final String RESERVE_SQL = """
+            UPDATE projects p
+            SET bug_seq = COALESCE(p.bug_seq,
+                    (SELECT COALESCE(MAX(CAST(substring(b.bug_id from '[0-9]+$') AS bigint)), 0)
+                     FROM bugs b WHERE b.project_id = p.id)) + ?
+            WHERE p.id = ?
+            RETURNING p.bug_seq
+            """;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.bugs.number-block-size:1}")
+    private int blockSize;
+
+    private final Map<Long, Range> ranges = new ConcurrentHashMap<>();
+
+    private TransactionTemplate requiresNew;
+
+    @PostConstruct
+    void init() {
+        if (blockSize < 1) {
+            throw new IllegalStateException("app.bugs.number-block-size must be at least 1");
+        }
+        requiresNew = new TransactionTemplate(transactionManager);
+        requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    public long next(Long projectId) {
+        Range range = ranges.computeIfAbsent(projectId, id -> new Range());
+        synchronized (range) {
+            if (range.next > range.last) {
+                long last = reserve(projectId);
+                range.next = last - blockSize + 1;
+                range.last = last;
+            }
+            return range.next++;
+        }
+    }
+
+    private long reserve(Long projectId) {
+        Long last = requiresNew.execute(status -> jdbcTemplate.queryForObject(RESERVE_SQL, Long.class, blockSize, projectId));
+        if (last == null) {
+            throw new RuntimeException("Project not found");
+        }
+        return last;
+    }
+
+    private static final class Range {
+        private long next = 1;
+        private long last = 0;
+    }
+}
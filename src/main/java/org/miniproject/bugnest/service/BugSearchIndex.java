@@ -0,0 +1,241 @@
+package org.miniproject.bugnest.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.stream.IntStream;
+
+/**
+ * In-memory inverted index over bug text (title, description, tags, comments).
+ *
+ * Terms are interned to int ids; each term keeps a sorted array of bug ids, and each bug keeps the
+ * term ids it contributed so it can be re-indexed or removed without re-reading old text. Queries
+ * AND all terms together, drive from the shortest posting list and walk newest-first, so they stop as
+ * soon as enough visible hits are found.
+ */
+public class BugSearchIndex {
+
+    private static final int MIN_TOKEN_LENGTH = 2;
+    private static final int MAX_TOKEN_LENGTH = 40;
+    private static final Set<String> STOP_WORDS = Set.of(
+            "the", "and", "for", "with", "that", "this", "from", "are", "was", "not", "but", "have", "has",
+            "when", "into", "its", "on", "in", "of", "to", "is", "it", "an", "as", "at", "be", "by", "or");
+
+    /** Per-bug metadata needed for visibility checks and for removing old postings. */
+    public static final class Doc {
+        private final long projectId;
+        private final long assigneeId; // 0 when unassigned
+        private int[] fieldTerms;
+        private int[] commentTerms;
+
+        private Doc(long projectId, long assigneeId) {
+            this.projectId = projectId;
+            this.assigneeId = assigneeId;
+        }
+
+        public long getProjectId() {
+            return projectId;
+        }
+
+        public long getAssigneeId() {
+            return assigneeId;
+        }
+    }
+
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+
+        void add(long id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+            int idx = Arrays.binarySearch(ids, 0, size, id);
+            if (idx >= 0) return;
+            int insertAt = -idx - 1;
+            ensureCapacity();
+            System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+            ids[insertAt] = id;
+            size++;
+        }
+
+        void remove(long id) {
+            int idx = Arrays.binarySearch(ids, 0, size, id);
+            if (idx < 0) return;
+            System.arraycopy(ids, idx + 1, ids, idx, size - idx - 1);
+            size--;
+        }
+
+        boolean contains(long id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> termIds = new HashMap<>();
+    private final List<Postings> postings = new ArrayList<>();
+    private final Map<Long, Doc> docs = new HashMap<>();
+
+    /** Indexes (or re-indexes) a bug's own fields, keeping any terms previously added from comments. */
+    public void upsert(long bugId, long projectId, Long assigneeId, String... fields) {
+        Set<String> tokens = tokenize(fields);
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.get(bugId);
+            Doc doc = new Doc(projectId, assigneeId != null ? assigneeId : 0L);
+            doc.commentTerms = old != null ? old.commentTerms : new int[0];
+            doc.fieldTerms = internAll(tokens);
+            if (old != null) {
+                unlink(bugId, old);
+            }
+            link(bugId, doc);
+            docs.put(bugId, doc);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /** Adds the terms of a new comment to an already indexed bug. */
+    public void addComment(long bugId, String message) {
+        Set<String> tokens = tokenize(message);
+        if (tokens.isEmpty()) return;
+        lock.writeLock().lock();
+        try {
+            Doc doc = docs.get(bugId);
+            if (doc == null) return;
+            int[] added = internAll(tokens);
+            for (int termId : added) {
+                postings.get(termId).add(bugId);
+            }
+            doc.commentTerms = union(doc.commentTerms, added);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(long bugId) {
+        lock.writeLock().lock();
+        try {
+            Doc old = docs.remove(bugId);
+            if (old != null) {
+                unlink(bugId, old);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            termIds.clear();
+            postings.clear();
+            docs.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Returns up to {@code limit} bug ids containing every term of the query, newest (highest id) first,
+     * keeping only documents accepted by {@code visible}.
+     */
+    public List<Long> search(String query, Predicate<Doc> visible, int limit) {
+        Set<String> tokens = tokenize(query);
+        if (tokens.isEmpty() || limit <= 0) return List.of();
+
+        lock.readLock().lock();
+        try {
+            List<Postings> lists = new ArrayList<>(tokens.size());
+            for (String token : tokens) {
+                Integer termId = termIds.get(token);
+                if (termId == null) return List.of();
+                Postings p = postings.get(termId);
+                if (p.size == 0) return List.of();
+                lists.add(p);
+            }
+            lists.sort(Comparator.comparingInt(p -> p.size));
+
+            Postings driver = lists.get(0);
+            List<Long> hits = new ArrayList<>(Math.min(limit, driver.size));
+            for (int i = driver.size - 1; i >= 0 && hits.size() < limit; i--) {
+                long id = driver.ids[i];
+                if (!containedInAll(lists, id)) continue;
+                Doc doc = docs.get(id);
+                if (doc != null && visible.test(doc)) {
+                    hits.add(id);
+                }
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public static Set<String> tokenize(String... texts) {
+        Set<String> tokens = new LinkedHashSet<>();
+        for (String text : texts) {
+            if (text == null || text.isBlank()) continue;
+            for (String raw : text.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+                if (raw.length() < MIN_TOKEN_LENGTH || STOP_WORDS.contains(raw)) continue;
+                tokens.add(raw.length() > MAX_TOKEN_LENGTH ? raw.substring(0, MAX_TOKEN_LENGTH) : raw);
+            }
+        }
+        return tokens;
+    }
+
+    private boolean containedInAll(List<Postings> lists, long id) {
+        for (int j = 1; j < lists.size(); j++) {
+            if (!lists.get(j).contains(id)) return false;
+        }
+        return true;
+    }
+
+    private void link(long bugId, Doc doc) {
+        for (int termId : doc.fieldTerms) postings.get(termId).add(bugId);
+        for (int termId : doc.commentTerms) postings.get(termId).add(bugId);
+    }
+
+    private void unlink(long bugId, Doc doc) {
+        for (int termId : doc.fieldTerms) postings.get(termId).remove(bugId);
+        for (int termId : doc.commentTerms) postings.get(termId).remove(bugId);
+    }
+
+    private int[] internAll(Set<String> tokens) {
+        int[] ids = new int[tokens.size()];
+        int i = 0;
+        for (String token : tokens) {
+            Integer id = termIds.get(token);
+            if (id == null) {
+                id = postings.size();
+                termIds.put(token, id);
+                postings.add(new Postings());
+            }
+            ids[i++] = id;
+        }
+        Arrays.sort(ids);
+        return ids;
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        return IntStream.concat(Arrays.stream(a), Arrays.stream(b)).distinct().sorted().toArray();
+    }
+}
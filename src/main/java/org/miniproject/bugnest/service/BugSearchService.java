@@ -0,0 +1,185 @@
+package org.miniproject.bugnest.service;
+
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugCommentRepository;
+import org.miniproject.bugnest.repository.BugCommentSearchSource;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.BugSearchSource;
+import org.miniproject.bugnest.repository.ProjectMemberRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps the {@link BugSearchIndex} in sync with the database and answers searches with the same
+ * per-role visibility rules as BugService.getAccessibleBug.
+ *
+ * A rebuild fills a fresh index from a snapshot and swaps it in; updates committed while it runs go to
+ * the live index and are replayed onto the fresh one before the swap, so none are lost.
+ */
+@Service
+public class BugSearchService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugSearchService.class);
+
+    private volatile BugSearchIndex index = new BugSearchIndex();
+
+    // Guards the index swap and the replay log; updates recorded while a rebuild runs, null otherwise
+    private final Object swapLock = new Object();
+    private List<Consumer<BugSearchIndex>> replay;
+
+    @Autowired
+    private BugRepository bugRepository;
+
+    @Autowired
+    private BugCommentRepository bugCommentRepository;
+
+    @Autowired
+    private ProjectMemberRepository memberRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${app.search.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    private volatile boolean ready;
+
+    /**
+     * Ids of bugs matching every term of the query that the user may see, newest first.
+     * projectId optionally narrows the search to one project.
+     */
+    public List<Long> searchIds(User user, String query, Long projectId, int limit) {
+        return index.search(query, visibleTo(user, projectId), limit);
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    // Index updates are applied after commit so a rolled-back write never becomes searchable.
+    public void indexBug(Bug bug) {
+        long bugId = bug.getId();
+        long projectId = bug.getProject().getId();
+        Long assigneeId = bug.getAssignee() != null ? bug.getAssignee().getId() : null;
+        String title = bug.getTitle();
+        String description = bug.getDescription();
+        String tags = bug.getTags();
+        afterCommit(() -> apply(target -> target.upsert(bugId, projectId, assigneeId, title, description, tags)));
+    }
+
+    public void indexComment(BugComment comment) {
+        long bugId = comment.getBug().getId();
+        String message = comment.getMessage();
+        afterCommit(() -> apply(target -> target.addComment(bugId, message)));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildOnStartup() {
+        if (!rebuildOnStartup) return;
+        Thread thread = new Thread(this::rebuild, "bug-search-rebuild");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /** Re-reads every bug and comment with streaming queries into a new index and swaps it in. */
+    public void rebuild() {
+        long started = System.currentTimeMillis();
+        BugSearchIndex fresh = new BugSearchIndex();
+        synchronized (swapLock) {
+            replay = new ArrayList<>();
+        }
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        tx.setReadOnly(true);
+        try {
+            tx.executeWithoutResult(status -> {
+                try (Stream<BugSearchSource> bugs = bugRepository.streamSearchSources();
+                     Stream<BugCommentSearchSource> comments = bugCommentRepository.streamSearchSources()) {
+                    // Both streams are ordered by bug id: each bug's comments are added right after the bug,
+                    // so every posting list only ever grows at its end
+                    Iterator<BugCommentSearchSource> commentIt = comments.iterator();
+                    BugCommentSearchSource comment = commentIt.hasNext() ? commentIt.next() : null;
+                    for (Iterator<BugSearchSource> bugIt = bugs.iterator(); bugIt.hasNext(); ) {
+                        BugSearchSource b = bugIt.next();
+                        fresh.upsert(b.getId(), b.getProjectId(), b.getAssigneeId(), b.getTitle(), b.getDescription(), b.getTags());
+                        while (comment != null && comment.getBugId() <= b.getId()) {
+                            fresh.addComment(comment.getBugId(), comment.getMessage());
+                            comment = commentIt.hasNext() ? commentIt.next() : null;
+                        }
+                    }
+                }
+            });
+            synchronized (swapLock) {
+                // Upserts replace a bug's fields and comment terms are a set, so replaying what the snapshot already saw is harmless
+                replay.forEach(update -> update.accept(fresh));
+                index = fresh;
+            }
+            ready = true;
+            logger.info("Bug search index rebuilt: {} bugs in {} ms", fresh.size(), System.currentTimeMillis() - started);
+        } catch (RuntimeException e) {
+            logger.error("Bug search index rebuild failed: {}", e.getMessage(), e);
+        } finally {
+            synchronized (swapLock) {
+                replay = null;
+            }
+        }
+    }
+
+    private Predicate<BugSearchIndex.Doc> visibleTo(User user, Long projectId) {
+        Predicate<BugSearchIndex.Doc> visible = doc -> projectId == null || doc.getProjectId() == projectId;
+        if (user.getRole() == Role.ADMIN) {
+            return visible;
+        }
+
+        Set<Long> projectIds = memberRepository.findByUser_IdAndStatus(user.getId(), ProjectMemberStatus.ACCEPTED)
+                .stream()
+                .map(m -> m.getProject().getId())
+                .collect(Collectors.toSet());
+        visible = visible.and(doc -> projectIds.contains(doc.getProjectId()));
+
+        if (user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER) {
+            long userId = user.getId();
+            visible = visible.and(doc -> doc.getAssigneeId() == userId);
+        }
+        return visible;
+    }
+
+    private void apply(Consumer<BugSearchIndex> update) {
+        synchronized (swapLock) {
+            update.accept(index);
+            if (replay != null) {
+                replay.add(update);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+}
@@ -5,11 +5,14 @@ import org.miniproject.bugnest.model.*;
 import org.miniproject.bugnest.repository.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.multipart.MultipartFile;
 import org.springframework.data.domain.Page;
 import org.springframework.data.jpa.domain.Specification;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -18,7 +21,10 @@ import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class BugService {
@@ -33,7 +39,10 @@ public class BugService {
     private org.miniproject.bugnest.repository.ProjectMemberRepository memberRepository;
 
     @Autowired
-    private org.miniproject.bugnest.repository.UserRepository userRepository;
+    private UserCache userCache;
+
+    @Autowired
+    private BugCounterService bugCounterService;
 
     @Autowired
     private BugCommentRepository bugCommentRepository;
@@ -47,27 +56,50 @@ public class BugService {
     @Autowired
     private BugActivityRepository bugActivityRepository;
 
+    @Autowired
+    private BugTagRepository bugTagRepository;
+
+    @Autowired
+    private BugSearchService bugSearchService;
+
+    @Autowired
+    private BugNumberAllocator bugNumberAllocator;
+
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
+    @Autowired
+    private org.springframework.jdbc.core.JdbcTemplate jdbcTemplate;
+
+    private static final Sort UPDATED_DESC = Sort.by(Sort.Direction.DESC, "updatedAt");
+    private static final int STREAM_FETCH_SIZE = 500;
+
+    @Transactional(readOnly = true)
     public List<BugResponse> getBugsByProject(Long projectId, User user) {
+        return projectBugs(projectId, user, true, this::mapRowToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BugSummaryResponse> getBugSummariesByProject(Long projectId, User user) {
+        return projectBugs(projectId, user, false, this::mapRowToSummary);
+    }
+
+    private <T> List<T> projectBugs(Long projectId, User user, boolean withText, Function<BugRow, T> mapper) {
         Project project = projectRepository.findById(projectId)
                 .orElseThrow(() -> new RuntimeException("Project not found"));
 
         // Security Check: Only members or Admin can view
         if (user.getRole() != Role.ADMIN &&
-            !memberRepository.existsByProjectAndUserAndStatus(project, user, ProjectMemberStatus.ACCEPTED)) {
+            !membershipCache.isAcceptedMember(project.getId(), user.getId())) {
             throw new RuntimeException("Access denied: You are not a member of this project");
         }
 
-        List<Bug> bugs = bugRepository.findByProjectOrderByUpdatedAtDesc(project);
-
-        // Visibility Rule: Developers and Testers only see bugs assigned to them
-        if (user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER) {
-            bugs = bugs.stream()
-                    .filter(b -> b.getAssignee() != null && b.getAssignee().getId().equals(user.getId()))
-                    .collect(Collectors.toList());
-        }
+        // Visibility Rule: Developers and Testers only see bugs assigned to them (filtered in SQL)
+        Specification<Bug> spec = BugSpecifications.projectEquals(project)
+                .and(BugSpecifications.assigneeRestrictedFor(user));
 
-        return bugs.stream()
-                .map(this::mapToResponse)
+        return bugRepository.findRows(spec, UPDATED_DESC, 0, withText).stream()
+                .map(mapper)
                 .collect(Collectors.toList());
     }
 
@@ -76,6 +108,49 @@ public class BugService {
         return mapToResponse(bug);
     }
 
+    // Validators for conditional GETs. null means "no validator": the caller should take the normal path,
+    // which also produces the usual not-found / access-denied errors.
+
+    @Transactional(readOnly = true)
+    public BugVersion getBugVersion(Long bugId, User user) {
+        BugVersion version = bugRepository.version(visibleBug(bugId, user));
+        return version.getCount() > 0 ? version : null;
+    }
+
+    @Transactional(readOnly = true)
+    public BugVersion getCommentsVersion(Long bugId, User user) {
+        return getBugVersion(bugId, user) != null ? bugCommentRepository.versionByBugId(bugId) : null;
+    }
+
+    @Transactional(readOnly = true)
+    public BugVersion getAttachmentsVersion(Long bugId, User user) {
+        return getBugVersion(bugId, user) != null ? bugAttachmentRepository.versionByBugId(bugId) : null;
+    }
+
+    @Transactional(readOnly = true)
+    public BugVersion getActivityVersion(Long bugId, User user) {
+        return getBugVersion(bugId, user) != null ? bugActivityRepository.versionByBugId(bugId) : null;
+    }
+
+    @Transactional(readOnly = true)
+    public BugVersion getProjectBugsVersion(Long projectId, User user) {
+        if (user.getRole() != Role.ADMIN &&
+                !membershipCache.isAcceptedMember(projectId, user.getId())) {
+            return null;
+        }
+        Specification<Bug> spec = (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+        return bugRepository.version(spec.and(BugSpecifications.assigneeRestrictedFor(user)));
+    }
+
+    private Specification<Bug> visibleBug(Long bugId, User user) {
+        Specification<Bug> spec = BugSpecifications.idIn(List.of(bugId));
+        if (user.getRole() != Role.ADMIN) {
+            spec = spec.and(BugSpecifications.inAcceptedProjectsOf(user))
+                    .and(BugSpecifications.assigneeRestrictedFor(user));
+        }
+        return spec;
+    }
+
     public List<BugCommentResponse> getComments(Long bugId, User user) {
         Bug bug = getAccessibleBug(bugId, user);
         return bugCommentRepository.findByBugOrderByCreatedAtAsc(bug).stream()
@@ -97,6 +172,7 @@ public class BugService {
         comment.setMessage(request.getMessage().trim());
 
         BugComment saved = bugCommentRepository.save(comment);
+        bugSearchService.indexComment(saved);
 
         // Notify creator/assignee (excluding actor)
         notifyUsersForBug(saved.getBug(), user, "COMMENT",
@@ -203,37 +279,82 @@ public class BugService {
         return attachment;
     }
 
+    @Transactional(readOnly = true)
     public List<BugResponse> getAllBugsForUser(User user) {
-        List<Project> projects;
-        
+        return allBugs(user, true, this::mapRowToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public List<BugSummaryResponse> getAllBugSummariesForUser(User user) {
+        return allBugs(user, false, this::mapRowToSummary);
+    }
+
+    private <T> List<T> allBugs(User user, boolean withText, Function<BugRow, T> mapper) {
         if (user.getRole() == Role.ADMIN) {
-            return bugRepository.findAll().stream()
-                    .map(this::mapToResponse)
+            return bugRepository.findRows((root, query, cb) -> cb.conjunction(), Sort.unsorted(), 0, withText).stream()
+                    .map(mapper)
                     .collect(Collectors.toList());
         }
 
-        // For non-admins, get projects where they are accepted members
-        projects = memberRepository.findByUserAndStatus(user, ProjectMemberStatus.ACCEPTED)
-                .stream()
-                .map(ProjectMember::getProject)
+        // For non-admins: bugs in projects where they are accepted members, and for
+        // Developers and Testers only the ones assigned to them. Both filters run in SQL.
+        Specification<Bug> spec = BugSpecifications.inAcceptedProjectsOf(user)
+                .and(BugSpecifications.assigneeRestrictedFor(user));
+
+        return bugRepository.findRows(spec, UPDATED_DESC, 0, withText).stream()
+                .map(mapper)
                 .collect(Collectors.toList());
+    }
 
-        if (projects.isEmpty()) {
+    /**
+     * Full-text search over title, description, tags and comments. Ids come from the in-memory index;
+     * the rows are then loaded with the usual visibility predicates so stale index entries cannot leak.
+     */
+    @Transactional(readOnly = true)
+    public List<BugResponse> searchBugs(User user, String query, Long projectId, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+        if (!bugSearchService.isReady()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Search index is still building");
+        }
+        List<Long> ids = bugSearchService.searchIds(user, query, projectId, limit);
+        if (ids.isEmpty()) {
             return List.of();
         }
 
-        List<Bug> bugs = bugRepository.findByProjectInOrderByUpdatedAtDesc(projects);
+        Specification<Bug> spec = BugSpecifications.idIn(ids);
+        if (user.getRole() != Role.ADMIN) {
+            spec = spec.and(BugSpecifications.inAcceptedProjectsOf(user))
+                    .and(BugSpecifications.assigneeRestrictedFor(user));
+        }
+        java.util.Map<Long, BugRow> rows = bugRepository.findRows(spec, Sort.unsorted(), 0).stream()
+                .collect(Collectors.toMap(BugRow::getId, r -> r));
+
+        // Keep the index order (newest first)
+        return ids.stream()
+                .map(rows::get)
+                .filter(java.util.Objects::nonNull)
+                .map(this::mapRowToResponse)
+                .collect(Collectors.toList());
+    }
 
-        // Visibility Rule: Developers and Testers only see bugs assigned to them
-        if (user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER) {
-            bugs = bugs.stream()
-                    .filter(b -> b.getAssignee() != null && b.getAssignee().getId().equals(user.getId()))
-                    .collect(Collectors.toList());
+    /**
+     * Streams every bug visible to the user (same scope as {@link #getAllBugsForUser}) to the sink
+     * one row at a time, using a JDBC cursor with a bounded fetch size instead of building a list.
+     */
+    @Transactional(readOnly = true)
+    public void forEachVisibleBug(User user, Consumer<BugResponse> sink) {
+        Specification<Bug> spec = (root, query, cb) -> cb.conjunction();
+        if (user.getRole() != Role.ADMIN) {
+            spec = spec.and(BugSpecifications.inAcceptedProjectsOf(user))
+                    .and(BugSpecifications.assigneeRestrictedFor(user));
         }
 
-        return bugs.stream()
-                .map(this::mapToResponse)
-                .collect(Collectors.toList());
+        // Ordered by id so the scan follows the primary key
+        try (Stream<BugRow> rows = bugRepository.streamRows(spec, Sort.by("id"), STREAM_FETCH_SIZE)) {
+            rows.forEach(row -> sink.accept(mapRowToResponse(row)));
+        }
     }
 
     @Transactional
@@ -247,7 +368,7 @@ public class BugService {
         }
 
         if (creator.getRole() != Role.ADMIN && 
-            !memberRepository.existsByProjectAndUserAndStatus(project, creator, ProjectMemberStatus.ACCEPTED)) {
+            !membershipCache.isAcceptedMember(project.getId(), creator.getId())) {
             throw new RuntimeException("Access denied: Only project members can report bugs");
         }
 
@@ -268,21 +389,23 @@ public class BugService {
 
         boolean canAssign = creator.getRole() == Role.ADMIN || creator.getRole() == Role.PROJECT_MANAGER;
         if (canAssign && request.getAssigneeId() != null && request.getAssigneeId() > 0) {
-            User assignee = userRepository.findById(request.getAssigneeId())
+            User assignee = userCache.findById(request.getAssigneeId())
                     .orElseThrow(() -> new RuntimeException("Assignee not found"));
             
             // Check if assignee is a member
-            if (!memberRepository.existsByProjectAndUserAndStatus(project, assignee, ProjectMemberStatus.ACCEPTED)) {
+            if (!membershipCache.isAcceptedMember(project.getId(), assignee.getId())) {
                 throw new RuntimeException("Assignee must be an accepted member of the project");
             }
             bug.setAssignee(assignee);
         }
 
         // Generate Bug ID (e.g., BNF-1)
-        long count = bugRepository.countByProject(project);
-        bug.setBugId(project.getProjectKey() + "-" + (count + 1));
+        bug.setBugId(project.getProjectKey() + "-" + bugNumberAllocator.next(project.getId()));
 
         Bug saved = bugRepository.save(bug);
+        bugCounterService.created(saved.getProject().getId(), idOf(saved.getAssignee()), saved.getStatus());
+        syncTags(saved);
+        bugSearchService.indexBug(saved);
         recordActivity(saved, creator, "BUG_CREATED", creator.getName() + " created " + saved.getBugId());
         if (saved.getAssignee() != null && saved.getAssignee().getId() != null && !saved.getAssignee().getId().equals(creator.getId())) {
             notificationService.create(saved.getAssignee(), "BUG_ASSIGNED",
@@ -311,11 +434,12 @@ public class BugService {
         bug.setStatus(newStatus);
 
         Bug saved = bugRepository.save(bug);
+        bugCounterService.moved(saved.getProject().getId(), idOf(saved.getAssignee()), oldStatus,
+                idOf(saved.getAssignee()), saved.getStatus());
         notifyUsersForBug(saved, user, "BUG_STATUS",
                 user.getName() + " moved " + saved.getBugId() + " to " + saved.getStatus().name(),
                 "/bugs/" + saved.getId());
-        recordActivity(saved, user, "STATUS_CHANGED",
-                user.getName() + " changed status from " + (oldStatus != null ? oldStatus.name() : "UNKNOWN") + " to " + saved.getStatus().name());
+        recordStatusChange(saved, user, oldStatus, saved.getStatus());
         return saved;
     }
 
@@ -328,16 +452,19 @@ public class BugService {
             throw new RuntimeException("Only Admins and Managers can assign bugs");
         }
 
-        User assignee = userRepository.findById(userId)
+        User assignee = userCache.findById(userId)
                 .orElseThrow(() -> new RuntimeException("User not found"));
 
-        if (!memberRepository.existsByProjectAndUserAndStatus(bug.getProject(), assignee, ProjectMemberStatus.ACCEPTED)) {
+        if (!membershipCache.isAcceptedMember(bug.getProject().getId(), assignee.getId())) {
             throw new RuntimeException("Assignee must be a member of the project");
         }
 
         User oldAssignee = bug.getAssignee();
         bug.setAssignee(assignee);
         Bug saved = bugRepository.save(bug);
+        bugCounterService.moved(saved.getProject().getId(), idOf(oldAssignee), saved.getStatus(),
+                assignee.getId(), saved.getStatus());
+        bugSearchService.indexBug(saved);
 
         if (assignee.getId() != null && !assignee.getId().equals(manager.getId())) {
             notificationService.create(assignee, "BUG_ASSIGNED",
@@ -353,11 +480,13 @@ public class BugService {
     public void updateBug(Long bugId, BugCreateRequest request, User user) {
         Bug bug = bugRepository.findById(bugId)
                 .orElseThrow(() -> new RuntimeException("Bug not found"));
+        Long oldAssigneeId = idOf(bug.getAssignee());
+        BugStatus oldStatus = bug.getStatus();
 
         // Only Admin, Project Manager or Creator can edit
         boolean isAdmin = user.getRole() == Role.ADMIN;
         boolean isProjectManager = user.getRole() == Role.PROJECT_MANAGER && 
-                memberRepository.existsByProjectAndUserAndStatus(bug.getProject(), user, ProjectMemberStatus.ACCEPTED);
+                membershipCache.isAcceptedMember(bug.getProject().getId(), user.getId());
         boolean isCreator = bug.getCreator().getId().equals(user.getId());
 
         if (!isAdmin && !isProjectManager && !isCreator) {
@@ -392,10 +521,10 @@ public class BugService {
         // Only Admin/PM can change assignee. For other roles we do not touch the existing assignee.
         if (canAssign) {
             if (request.getAssigneeId() != null && request.getAssigneeId() > 0) {
-                User assignee = userRepository.findById(request.getAssigneeId())
+                User assignee = userCache.findById(request.getAssigneeId())
                         .orElseThrow(() -> new RuntimeException("Assignee not found"));
                 
-                if (!memberRepository.existsByProjectAndUserAndStatus(bug.getProject(), assignee, ProjectMemberStatus.ACCEPTED)) {
+                if (!membershipCache.isAcceptedMember(bug.getProject().getId(), assignee.getId())) {
                     throw new RuntimeException("Assignee must be a member of the project");
                 }
                 bug.setAssignee(assignee);
@@ -406,7 +535,16 @@ public class BugService {
         }
 
         Bug saved = bugRepository.save(bug);
+        bugCounterService.moved(saved.getProject().getId(), oldAssigneeId, oldStatus,
+                idOf(saved.getAssignee()), saved.getStatus());
+        if (request.getTags() != null) {
+            syncTags(saved);
+        }
+        bugSearchService.indexBug(saved);
         recordActivity(saved, user, "BUG_UPDATED", user.getName() + " updated bug fields");
+        if (saved.getStatus() != oldStatus) {
+            recordStatusChange(saved, user, oldStatus, saved.getStatus());
+        }
         if (request.getStatus() != null && !request.getStatus().isBlank()) {
             notifyUsersForBug(saved, user, "BUG_STATUS",
                     user.getName() + " updated " + saved.getBugId() + " to " + saved.getStatus().name(),
@@ -414,6 +552,213 @@ public class BugService {
         }
     }
 
+    private static final int MAX_BULK_BUGS = 500;
+
+    private static final String INSERT_ACTIVITY_SQL =
+            "INSERT INTO bug_activities (bug_id, actor_id, action, message, from_status, to_status, created_at) VALUES (?, ?, ?, ?, ?, ?, ?)";
+    private static final String INSERT_NOTIFICATION_SQL =
+            "INSERT INTO notifications (user_id, type, message, link, is_read, created_at) VALUES (?, ?, ?, ?, false, ?)";
+    private static final String INSERT_BUG_TAG_SQL = "INSERT INTO bug_tags (bug_id, tag) VALUES (?, ?)";
+
+    /**
+     * Applies the same change to many bugs in one transaction. Access is checked for the whole set with one
+     * query and the request is rejected if any bug is not visible to the user. Bug updates go out as Hibernate
+     * JDBC batches. Activity, tag and notification rows use JdbcTemplate batches, because their IDENTITY ids
+     * stop Hibernate from batching inserts. Each creator or assignee gets at most one notification.
+     */
+    @Transactional
+    public int bulkUpdate(BugBulkUpdateRequest request, User user) {
+        List<Long> ids = request.getBugIds() == null ? List.of() : request.getBugIds().stream()
+                .filter(java.util.Objects::nonNull)
+                .distinct()
+                .collect(Collectors.toList());
+        if (ids.isEmpty()) {
+            throw new RuntimeException("No bugs selected");
+        }
+        if (ids.size() > MAX_BULK_BUGS) {
+            throw new RuntimeException("At most " + MAX_BULK_BUGS + " bugs can be updated at once");
+        }
+
+        BugStatus newStatus = request.getStatus() != null && !request.getStatus().isBlank()
+                ? BugStatus.valueOf(request.getStatus().toUpperCase()) : null;
+        BugSeverity newSeverity = request.getSeverity() != null && !request.getSeverity().isBlank()
+                ? BugSeverity.valueOf(request.getSeverity().toUpperCase()) : null;
+        BugPriority newPriority = request.getPriority() != null && !request.getPriority().isBlank()
+                ? BugPriority.valueOf(request.getPriority().toUpperCase()) : null;
+        String newTags = normalizeTagsToString(request.getTags());
+        boolean changeAssignee = request.getAssigneeId() != null;
+        boolean changeFields = newSeverity != null || newPriority != null || newTags != null;
+
+        if (newStatus == null && !changeAssignee && !changeFields) {
+            throw new RuntimeException("No changes requested");
+        }
+        if (newStatus == BugStatus.CLOSED &&
+                (request.getResolutionNotes() == null || request.getResolutionNotes().trim().length() < 5)) {
+            throw new RuntimeException("Resolution notes are required to close a bug");
+        }
+        boolean isManager = user.getRole() == Role.ADMIN || user.getRole() == Role.PROJECT_MANAGER;
+        if (changeAssignee && !isManager) {
+            throw new RuntimeException("Only Admins and Managers can assign bugs");
+        }
+
+        // One query for existence and visibility: accepted project membership, plus assignee for Developers/Testers
+        Specification<Bug> spec = BugSpecifications.idIn(ids);
+        if (user.getRole() != Role.ADMIN) {
+            spec = spec.and(BugSpecifications.inAcceptedProjectsOf(user))
+                    .and(BugSpecifications.assigneeRestrictedFor(user));
+        }
+        List<Bug> bugs = bugRepository.findBy(spec, q -> q.project("project", "creator", "assignee").all());
+        if (bugs.size() != ids.size()) {
+            java.util.Set<Long> found = bugs.stream().map(Bug::getId).collect(Collectors.toSet());
+            List<Long> missing = ids.stream().filter(id -> !found.contains(id)).collect(Collectors.toList());
+            throw new RuntimeException("Bugs not found or not accessible: " + missing);
+        }
+
+        User assignee = null;
+        if (changeAssignee && request.getAssigneeId() > 0) {
+            assignee = userCache.findById(request.getAssigneeId())
+                    .orElseThrow(() -> new RuntimeException("Assignee not found"));
+            java.util.Set<Long> projectIds = bugs.stream().map(b -> b.getProject().getId()).collect(Collectors.toSet());
+            List<Long> memberOf = memberRepository.findProjectIdsByUserAndStatusAndProjectIdIn(
+                    assignee.getId(), ProjectMemberStatus.ACCEPTED, projectIds);
+            if (memberOf.size() != projectIds.size()) {
+                throw new RuntimeException("Assignee must be a member of the project");
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> activities = new java.util.ArrayList<>();
+        // recipient -> bugs they should hear about, in request order; a bug newly assigned to someone is
+        // only announced as an assignment to them, not also as a status change
+        java.util.Map<Long, List<Bug>> assignedNotices = new java.util.LinkedHashMap<>();
+        java.util.Map<Long, List<Bug>> statusNotices = new java.util.LinkedHashMap<>();
+
+        for (Bug bug : bugs) {
+            if (changeFields && !isManager && !bug.getCreator().getId().equals(user.getId())) {
+                throw new RuntimeException("Access Denied: You don't have permission to edit " + bug.getBugId());
+            }
+
+            Long oldAssigneeId = idOf(bug.getAssignee());
+            BugStatus previousStatus = bug.getStatus();
+            boolean statusChanged = false;
+            if (newStatus != null && newStatus != bug.getStatus()) {
+                // PM membership was already enforced by the visibility query above
+                if (user.getRole() != Role.PROJECT_MANAGER) {
+                    assertStatusChangeAllowed(bug, newStatus, user);
+                }
+                BugStatus oldStatus = bug.getStatus();
+                if (newStatus == BugStatus.CLOSED) {
+                    bug.setResolutionNotes(request.getResolutionNotes().trim());
+                }
+                bug.setStatus(newStatus);
+                statusChanged = true;
+                activities.add(new Object[]{bug.getId(), user.getId(), "STATUS_CHANGED",
+                        statusChangeMessage(user, oldStatus, newStatus),
+                        oldStatus != null ? oldStatus.name() : null, newStatus.name(), now});
+            }
+
+            boolean assigneeChanged = false;
+            if (changeAssignee && !java.util.Objects.equals(idOf(bug.getAssignee()), idOf(assignee))) {
+                String oldName = bug.getAssignee() != null ? bug.getAssignee().getName() : "Unassigned";
+                bug.setAssignee(assignee);
+                assigneeChanged = true;
+                activities.add(new Object[]{bug.getId(), user.getId(), "ASSIGNED",
+                        user.getName() + " assigned bug from " + oldName + " to " + (assignee != null ? assignee.getName() : "Unassigned"),
+                        null, null, now});
+            }
+
+            if (statusChanged || assigneeChanged) {
+                bugCounterService.moved(bug.getProject().getId(), oldAssigneeId, previousStatus,
+                        idOf(bug.getAssignee()), bug.getStatus());
+            }
+
+            boolean fieldsChanged = false;
+            if (newSeverity != null && newSeverity != bug.getSeverity()) {
+                bug.setSeverity(newSeverity);
+                fieldsChanged = true;
+            }
+            if (newPriority != null && newPriority != bug.getPriority()) {
+                bug.setPriority(newPriority);
+                fieldsChanged = true;
+            }
+            if (newTags != null && !newTags.equals(bug.getTags())) {
+                bug.setTags(newTags);
+                fieldsChanged = true;
+            }
+            if (fieldsChanged) {
+                activities.add(new Object[]{bug.getId(), user.getId(), "BUG_UPDATED", user.getName() + " updated bug fields", null, null, now});
+            }
+
+            if (assigneeChanged || fieldsChanged) {
+                bugSearchService.indexBug(bug);
+            }
+            if (assigneeChanged && assignee != null && !assignee.getId().equals(user.getId())) {
+                assignedNotices.computeIfAbsent(assignee.getId(), u -> new java.util.ArrayList<>()).add(bug);
+            }
+            if (statusChanged) {
+                for (User recipient : java.util.Arrays.asList(bug.getCreator(), bug.getAssignee())) {
+                    if (recipient != null && !recipient.getId().equals(user.getId())
+                            && !assignedNotices.getOrDefault(recipient.getId(), List.of()).contains(bug)) {
+                        List<Bug> list = statusNotices.computeIfAbsent(recipient.getId(), u -> new java.util.ArrayList<>());
+                        if (!list.contains(bug)) list.add(bug);
+                    }
+                }
+            }
+        }
+
+        // Dirty bugs are flushed as batched UPDATEs before the plain JDBC inserts below
+        bugRepository.flush();
+
+        if (newTags != null) {
+            bugTagRepository.deleteByBugIdIn(ids);
+            List<Object[]> tagRows = new java.util.ArrayList<>();
+            for (String tag : parseTags(newTags)) {
+                for (Long id : ids) {
+                    tagRows.add(new Object[]{id, tag});
+                }
+            }
+            jdbcTemplate.batchUpdate(INSERT_BUG_TAG_SQL, tagRows);
+        }
+        jdbcTemplate.batchUpdate(INSERT_ACTIVITY_SQL, activities);
+
+        List<Object[]> notifications = new java.util.ArrayList<>();
+        assignedNotices.forEach((recipientId, recipientBugs) ->
+                notifications.add(bulkNotification(recipientId, true, recipientBugs, user, now)));
+        statusNotices.forEach((recipientId, recipientBugs) ->
+                notifications.add(bulkNotification(recipientId, false, recipientBugs, user, now)));
+        jdbcTemplate.batchUpdate(INSERT_NOTIFICATION_SQL, notifications);
+
+        return bugs.size();
+    }
+
+    // One notification row per recipient and kind: "assigned you N bugs" only counts the assigned ones
+    private static Object[] bulkNotification(Long recipientId, boolean assigned, List<Bug> recipientBugs, User user, LocalDateTime now) {
+        String type = assigned ? "BUG_ASSIGNED" : "BUG_STATUS";
+        String message;
+        String link;
+        if (recipientBugs.size() == 1) {
+            Bug bug = recipientBugs.get(0);
+            message = assigned
+                    ? "You were assigned " + bug.getBugId() + " (" + bug.getTitle() + ")"
+                    : user.getName() + " moved " + bug.getBugId() + " to " + bug.getStatus().name();
+            link = "/bugs/" + bug.getId();
+        } else {
+            String keys = recipientBugs.stream().limit(5).map(Bug::getBugId).collect(Collectors.joining(", "));
+            if (recipientBugs.size() > 5) {
+                keys += " and " + (recipientBugs.size() - 5) + " more";
+            }
+            message = assigned
+                    ? user.getName() + " assigned you " + recipientBugs.size() + " bugs: " + keys
+                    : user.getName() + " updated " + recipientBugs.size() + " bugs: " + keys;
+            link = "/bugs";
+        }
+        return new Object[]{recipientId, type, message, link, now};
+    }
+
+    private static Long idOf(User user) {
+        return user != null ? user.getId() : null;
+    }
+
     public List<BugActivityResponse> getBugActivity(Long bugId, User user) {
         Bug bug = getAccessibleBug(bugId, user);
         return bugActivityRepository.findByBugOrderByCreatedAtDesc(bug).stream()
@@ -421,6 +766,17 @@ public class BugService {
                 .collect(Collectors.toList());
     }
 
+    // Keeps bug_tags in step with the comma-separated Bug.tags column.
+    private void syncTags(Bug bug) {
+        bugTagRepository.deleteByBug(bug);
+        List<BugTag> rows = parseTags(bug.getTags()).stream()
+                .map(tag -> new BugTag(bug, tag))
+                .collect(Collectors.toList());
+        if (!rows.isEmpty()) {
+            bugTagRepository.saveAll(rows);
+        }
+    }
+
     private void recordActivity(Bug bug, User actor, String action, String message) {
         if (bug == null || actor == null) return;
         BugActivity a = new BugActivity();
@@ -431,6 +787,22 @@ public class BugService {
         bugActivityRepository.save(a);
     }
 
+    private void recordStatusChange(Bug bug, User actor, BugStatus from, BugStatus to) {
+        if (bug == null || actor == null) return;
+        BugActivity a = new BugActivity();
+        a.setBug(bug);
+        a.setActor(actor);
+        a.setAction("STATUS_CHANGED");
+        a.setMessage(statusChangeMessage(actor, from, to));
+        a.setFromStatus(from);
+        a.setToStatus(to);
+        bugActivityRepository.save(a);
+    }
+
+    private static String statusChangeMessage(User actor, BugStatus from, BugStatus to) {
+        return actor.getName() + " changed status from " + (from != null ? from.name() : "UNKNOWN") + " to " + to.name();
+    }
+
     private BugActivityResponse mapActivityToResponse(BugActivity a) {
         return BugActivityResponse.builder()
                 .id(a.getId())
@@ -442,11 +814,10 @@ public class BugService {
                 .build();
     }
 
+    @Transactional(readOnly = true)
     public List<BugResponse> getAssignedBugsForUser(User user) {
-        List<Bug> bugs;
-        if (user.getRole() == Role.ADMIN) {
-            bugs = bugRepository.findByAssigneeOrderByUpdatedAtDesc(user);
-        } else {
+        Specification<Bug> spec = BugSpecifications.assigneeEquals(user);
+        if (user.getRole() != Role.ADMIN) {
             // Ensure bug is in one of the user's accepted projects (defense-in-depth)
             List<Project> myProjects = memberRepository.findByUser_IdAndStatus(user.getId(), ProjectMemberStatus.ACCEPTED)
                     .stream()
@@ -454,12 +825,12 @@ public class BugService {
                     .collect(Collectors.toList());
             if (myProjects.isEmpty()) return List.of();
 
-            bugs = bugRepository.findByAssigneeOrderByUpdatedAtDesc(user).stream()
-                    .filter(b -> myProjects.stream().anyMatch(p -> p.getId().equals(b.getProject().getId())))
-                    .collect(Collectors.toList());
+            spec = spec.and(BugSpecifications.projectIn(myProjects));
         }
 
-        return bugs.stream().map(this::mapToResponse).collect(Collectors.toList());
+        return bugRepository.findRows(spec, UPDATED_DESC, 0).stream()
+                .map(this::mapRowToResponse)
+                .collect(Collectors.toList());
     }
 
     private void notifyUsersForBug(Bug bug, User actor, String type, String message, String link) {
@@ -478,7 +849,7 @@ public class BugService {
         }
 
         if (user.getRole() == Role.PROJECT_MANAGER) {
-            if (!memberRepository.existsByProjectAndUserAndStatus(bug.getProject(), user, ProjectMemberStatus.ACCEPTED)) {
+            if (!membershipCache.isAcceptedMember(bug.getProject().getId(), user.getId())) {
                 throw new RuntimeException("Access denied: You are not a member of this project");
             }
             return;
@@ -527,7 +898,199 @@ public class BugService {
                 .build();
     }
 
-    public Page<BugResponse> getPagedBugsForUser(User user, Long projectId, String tag, String severity, Boolean overdue, Pageable pageable) {
+    private BugSummaryResponse mapRowToSummary(BugRow row) {
+        return BugSummaryResponse.builder()
+                .id(row.getId())
+                .bugId(row.getBugId())
+                .title(row.getTitle())
+                .priority(row.getPriority().name())
+                .severity(row.getSeverity() != null ? row.getSeverity().name() : BugSeverity.MINOR.name())
+                .status(row.getStatus().name())
+                .tags(parseTags(row.getTags()))
+                .dueDate(row.getDueDate())
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .creatorName(row.getCreatorName() != null ? row.getCreatorName() : "Unknown")
+                .assigneeName(row.getAssigneeName() != null ? row.getAssigneeName() : "Unassigned")
+                .assigneeId(row.getAssigneeId())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    private BugResponse mapRowToResponse(BugRow row) {
+        return BugResponse.builder()
+                .id(row.getId())
+                .bugId(row.getBugId())
+                .title(row.getTitle())
+                .description(row.getDescription())
+                .priority(row.getPriority().name())
+                .severity(row.getSeverity() != null ? row.getSeverity().name() : BugSeverity.MINOR.name())
+                .status(row.getStatus().name())
+                .tags(parseTags(row.getTags()))
+                .dueDate(row.getDueDate())
+                .resolutionNotes(row.getResolutionNotes())
+                .projectId(row.getProjectId())
+                .projectName(row.getProjectName())
+                .creatorName(row.getCreatorName() != null ? row.getCreatorName() : "Unknown")
+                .assigneeName(row.getAssigneeName() != null ? row.getAssigneeName() : "Unassigned")
+                .assigneeId(row.getAssigneeId())
+                .createdAt(row.getCreatedAt())
+                .updatedAt(row.getUpdatedAt())
+                .build();
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BugResponse> getPagedBugsForUser(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue, Pageable pageable) {
+        return pagedBugs(user, projectId, tag, matchAllTags, severity, overdue, pageable, true, this::mapRowToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public Page<BugSummaryResponse> getPagedBugSummariesForUser(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue, Pageable pageable) {
+        return pagedBugs(user, projectId, tag, matchAllTags, severity, overdue, pageable, false, this::mapRowToSummary);
+    }
+
+    private <T> Page<T> pagedBugs(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue,
+                                  Pageable pageable, boolean withText, Function<BugRow, T> mapper) {
+        Specification<Bug> spec = buildPagedSpec(user, projectId, tag, matchAllTags, severity, overdue);
+        if (spec == null) {
+            return Page.empty(pageable);
+        }
+        return bugRepository.findRows(spec, pageable, withText).map(mapper);
+    }
+
+    /**
+     * Filter sidebar counts for the same scope and filters as {@link #getPagedBugsForUser}, computed by a
+     * single aggregation query instead of loading the bugs.
+     */
+    @Transactional(readOnly = true)
+    public BugFacetsResponse getBugFacets(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue) {
+        if (projectId != null) {
+            if (!projectRepository.existsById(projectId)) {
+                throw new RuntimeException("Project not found");
+            }
+            if (user.getRole() != Role.ADMIN &&
+                    !membershipCache.isAcceptedMember(projectId, user.getId())) {
+                throw new RuntimeException("Access denied: You are not a member of this project");
+            }
+        }
+
+        Long memberUserId = user.getRole() == Role.ADMIN ? null : user.getId();
+        Long assigneeId = user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER ? user.getId() : null;
+        List<String> tags = tag != null && !tag.isBlank() ? parseTags(tag.toLowerCase(java.util.Locale.ROOT)) : List.of();
+        BugSeverity severityFilter = severity != null && !severity.isBlank() ? BugSeverity.valueOf(severity.toUpperCase()) : null;
+        java.time.LocalDate overdueBefore = overdue != null && overdue ? java.time.LocalDate.now() : null;
+
+        List<BugFacetRow> rows = bugRepository.facetCounts(memberUserId, assigneeId, projectId, tags, matchAllTags,
+                severityFilter, overdueBefore);
+
+        // Enum facets list every value (zero included) in declaration order
+        java.util.Map<String, Long> statusCounts = zeroCounts(BugStatus.values());
+        java.util.Map<String, Long> severityCounts = zeroCounts(BugSeverity.values());
+        java.util.Map<String, Long> priorityCounts = zeroCounts(BugPriority.values());
+        java.util.Map<String, Long> tagCounts = new java.util.LinkedHashMap<>();
+        List<BugFacetsResponse.AssigneeCount> assignees = new java.util.ArrayList<>();
+        long total = 0;
+
+        for (BugFacetRow row : rows) {
+            switch (row.getFacet()) {
+                case "status" -> statusCounts.merge(row.getValue(), row.getCount(), Long::sum);
+                // bugs without a severity are shown as MINOR everywhere else
+                case "severity" -> severityCounts.merge(row.getValue() != null ? row.getValue() : BugSeverity.MINOR.name(),
+                        row.getCount(), Long::sum);
+                case "priority" -> priorityCounts.merge(row.getValue(), row.getCount(), Long::sum);
+                case "tag" -> {
+                    if (row.getValue() != null) tagCounts.put(row.getValue(), row.getCount());
+                }
+                case "assignee" -> assignees.add(new BugFacetsResponse.AssigneeCount(
+                        row.getValue() != null ? Long.valueOf(row.getValue()) : null,
+                        row.getLabel() != null ? row.getLabel() : "Unassigned",
+                        row.getCount()));
+                default -> total = row.getCount();
+            }
+        }
+
+        return BugFacetsResponse.builder()
+                .total(total)
+                .status(statusCounts)
+                .severity(severityCounts)
+                .priority(priorityCounts)
+                .tags(tagCounts)
+                .assignees(assignees)
+                .build();
+    }
+
+    private static java.util.Map<String, Long> zeroCounts(Enum<?>[] values) {
+        java.util.Map<String, Long> counts = new java.util.LinkedHashMap<>();
+        for (Enum<?> value : values) {
+            counts.put(value.name(), 0L);
+        }
+        return counts;
+    }
+
+    /**
+     * Keyset variant of {@link #getPagedBugsForUser}: seeks past the cursor on (updatedAt, id) instead of
+     * using OFFSET, and only runs the COUNT query when the caller asks for totals.
+     */
+    @Transactional(readOnly = true)
+    public PagedResponse<BugResponse> getBugsAfterCursor(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue,
+                                                         String cursor, int size, Sort.Direction direction, boolean includeTotal) {
+        return bugsAfterCursor(user, projectId, tag, matchAllTags, severity, overdue, cursor, size, direction, includeTotal,
+                true, this::mapRowToResponse);
+    }
+
+    @Transactional(readOnly = true)
+    public PagedResponse<BugSummaryResponse> getBugSummariesAfterCursor(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue,
+                                                                        String cursor, int size, Sort.Direction direction, boolean includeTotal) {
+        return bugsAfterCursor(user, projectId, tag, matchAllTags, severity, overdue, cursor, size, direction, includeTotal,
+                false, this::mapRowToSummary);
+    }
+
+    private <T> PagedResponse<T> bugsAfterCursor(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue,
+                                                 String cursor, int size, Sort.Direction direction, boolean includeTotal,
+                                                 boolean withText, Function<BugRow, T> mapper) {
+        Specification<Bug> spec = buildPagedSpec(user, projectId, tag, matchAllTags, severity, overdue);
+        if (spec == null) {
+            return PagedResponse.<T>builder()
+                    .content(List.of())
+                    .size(size)
+                    .totalElements(includeTotal ? 0L : null)
+                    .build();
+        }
+
+        Long total = includeTotal ? bugRepository.count(spec) : null;
+
+        Specification<Bug> seekSpec = spec;
+        if (cursor != null && !cursor.isBlank()) {
+            BugCursor position = BugCursor.decode(cursor);
+            seekSpec = spec.and(BugSpecifications.seekAfter(position.getUpdatedAt(), position.getId(), direction));
+        }
+
+        // Fetch one extra row to learn whether another page exists without counting.
+        Sort sort = Sort.by(direction, "updatedAt").and(Sort.by(direction, "id"));
+        List<BugRow> rows = bugRepository.findRows(seekSpec, sort, size + 1, withText);
+
+        boolean hasMore = rows.size() > size;
+        if (hasMore) {
+            rows = rows.subList(0, size);
+        }
+        String nextCursor = null;
+        if (hasMore) {
+            BugRow last = rows.get(rows.size() - 1);
+            nextCursor = new BugCursor(last.getUpdatedAt(), last.getId()).encode();
+        }
+
+        return PagedResponse.<T>builder()
+                .content(rows.stream().map(mapper).collect(Collectors.toList()))
+                .size(size)
+                .totalElements(total)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // Returns null when the user has no visible projects (the result is empty).
+    // tag may hold several comma-separated tags; matchAllTags switches from any-of to all-of.
+    private Specification<Bug> buildPagedSpec(User user, Long projectId, String tag, boolean matchAllTags, String severity, Boolean overdue) {
         // Spring Data JPA 4: Specification.where(null) is invalid; start with an always-true predicate.
         Specification<Bug> spec = (root, query, cb) -> cb.conjunction();
 
@@ -536,7 +1099,7 @@ public class BugService {
                     .orElseThrow(() -> new RuntimeException("Project not found"));
 
             if (user.getRole() != Role.ADMIN &&
-                !memberRepository.existsByProjectAndUserAndStatus(project, user, ProjectMemberStatus.ACCEPTED)) {
+                !membershipCache.isAcceptedMember(project.getId(), user.getId())) {
                 throw new RuntimeException("Access denied: You are not a member of this project");
             }
             spec = spec.and(BugSpecifications.projectEquals(project));
@@ -547,28 +1110,26 @@ public class BugService {
                         .map(ProjectMember::getProject)
                         .collect(Collectors.toList());
                 if (projects.isEmpty()) {
-                    return Page.empty(pageable);
+                    return null;
                 }
                 spec = spec.and(BugSpecifications.projectIn(projects));
             }
         }
 
         // Visibility Rule: Developers and Testers only see bugs assigned to them
-        if (user.getRole() == Role.DEVELOPER || user.getRole() == Role.TESTER) {
-            spec = spec.and(BugSpecifications.assigneeEquals(user));
-        }
+        spec = spec.and(BugSpecifications.assigneeRestrictedFor(user));
 
         if (severity != null && !severity.isBlank()) {
             spec = spec.and(BugSpecifications.severityEquals(BugSeverity.valueOf(severity.toUpperCase())));
         }
         if (tag != null && !tag.isBlank()) {
-            spec = spec.and(BugSpecifications.tagEquals(tag));
+            List<String> tags = parseTags(tag.toLowerCase(java.util.Locale.ROOT));
+            spec = spec.and(BugSpecifications.tagsMatch(tags, matchAllTags));
         }
         if (overdue != null && overdue) {
             spec = spec.and(BugSpecifications.overdueOnly(java.time.LocalDate.now()));
         }
-
-        return bugRepository.findAll(spec, pageable).map(this::mapToResponse);
+        return spec;
     }
 
     private List<String> parseTags(String tags) {
@@ -618,8 +1179,7 @@ public class BugService {
             return bug;
         }
 
-        boolean isProjectMember = memberRepository.existsByProjectAndUserAndStatus(
-                bug.getProject(), user, ProjectMemberStatus.ACCEPTED);
+        boolean isProjectMember = membershipCache.isAcceptedMember(bug.getProject().getId(), user.getId());
         if (!isProjectMember) {
             throw new RuntimeException("Access denied: You are not a member of this project");
         }
@@ -0,0 +1,52 @@
+package org.miniproject.bugnest.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+/**
+ * Rolls every project up to and including yesterday, each from the day after its own watermark, on a
+ * schedule (app.snapshots.rollup-cron) and once at startup. Nights missed while the app was down, and
+ * days of a project whose rollup failed, are filled in the same way; a project seen for the first time
+ * is backfilled app.snapshots.initial-backfill-days from the activity log.
+ */
+@Component
+public class BugSnapshotScheduler {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugSnapshotScheduler.class);
+
+    @Autowired
+    private BugSnapshotService bugSnapshotService;
+
+    @Value("${app.snapshots.catch-up-on-startup:true}")
+    private boolean catchUpOnStartup;
+
+    @Value("${app.snapshots.initial-backfill-days:365}")
+    private int initialBackfillDays;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void catchUpOnStartup() {
+        if (catchUpOnStartup) {
+            catchUp();
+        }
+    }
+
+    @Scheduled(cron = "${app.snapshots.rollup-cron:0 15 0 * * *}")
+    public void catchUp() {
+        try {
+            LocalDate yesterday = LocalDate.now().minusDays(1);
+            bugSnapshotService.catchUp(yesterday, yesterday.minusDays(Math.max(1, initialBackfillDays) - 1L));
+        } catch (RuntimeException e) {
+            // Per-project failures are handled inside catchUp; this is e.g. the project list failing.
+            // No watermark moved, so the next run starts over from the same days
+            logger.error("Bug snapshot rollup failed", e);
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package org.miniproject.bugnest.service;
+
+import jakarta.annotation.PostConstruct;
+import org.miniproject.bugnest.model.BugSeverity;
+import org.miniproject.bugnest.model.BugSnapshotWatermark;
+import org.miniproject.bugnest.model.BugStatus;
+import org.miniproject.bugnest.repository.BugDailySnapshotRepository;
+import org.miniproject.bugnest.repository.BugSnapshotWatermarkRepository;
+import org.miniproject.bugnest.repository.BugTrendRow;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes bug_daily_snapshots, one row per project and day, and reads them back for the trends chart.
+ * A bug's status at the end of a day is the from_status of its first STATUS_CHANGED activity after
+ * that day, or its current status when nothing changed since; so the most recent days match the bug
+ * rows exactly and older days are rebuilt from the activity log. Severity and due date have no history
+ * and are taken from the current row. Re-running a range replaces its rows, so rollups are idempotent.
+ * Each project keeps its own watermark (the last day rolled up without a gap), which catchUp resumes from;
+ * every rollup of a project locks that row first, so a manual rollup and a catch-up of the same project
+ * run one after the other, also across instances.
+ * <p>
+ * Only STATUS_CHANGED activities count as history. Status changes made through updateBug used to be
+ * logged as BUG_UPDATED alone, so for bugs edited that way before edits recorded STATUS_CHANGED, the
+ * initial backfill shows the status from after the edit (usually the current one) on the earlier days too.
+ */
+@Service
+public class BugSnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BugSnapshotService.class);
+
+    private static final String BUGS_SQL = """
+            SELECT id, created_at, status, severity, due_date
+            FROM bugs
+            WHERE project_id = ? AND (created_at IS NULL OR created_at < ?)
+            """;
+
+    private static final String CHANGES_SQL = """
+            SELECT a.bug_id, a.created_at, a.from_status, a.to_status
+            FROM bug_activities a
+            JOIN bugs b ON b.id = a.bug_id
+            WHERE b.project_id = ? AND a.action = 'STATUS_CHANGED' AND a.to_status IS NOT NULL AND a.created_at >= ?
+            ORDER BY a.bug_id, a.created_at, a.id
+            """;
+
+    private static final String ENSURE_WATERMARKS_SQL = """
+            INSERT INTO bug_snapshot_watermarks (project_id)
+            SELECT p.id FROM projects p
+            WHERE NOT EXISTS (SELECT 1 FROM bug_snapshot_watermarks w WHERE w.project_id = p.id)
+            """;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO bug_daily_snapshots (project_id, snapshot_date, open_bugs, in_progress_bugs, review_bugs,
+                testing_bugs, closed_bugs, minor_open, major_open, blocker_open, critical_open, overdue_open,
+                created_on_day, closed_on_day, computed_at)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+            """;
+
+    // Column positions in the per-day counter arrays, in INSERT_SQL order after project_id and snapshot_date
+    private static final int OPEN = 0, IN_PROGRESS = 1, REVIEW = 2, TESTING = 3, CLOSED = 4;
+    private static final int MINOR = 5, MAJOR = 6, BLOCKER = 7, CRITICAL = 8;
+    private static final int OVERDUE = 9, CREATED_ON_DAY = 10, CLOSED_ON_DAY = 11;
+    private static final int COLUMNS = 12;
+
+    private record BugState(long id, LocalDateTime createdAt, BugStatus status, BugSeverity severity, LocalDate dueDate) {}
+
+    private record StatusChange(LocalDateTime at, BugStatus from, BugStatus to) {}
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugDailySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BugSnapshotWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+
+    @PostConstruct
+    void init() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Recomputes the snapshots for every project and every day in [from, to], one transaction per
+     * project. A project's watermark only moves when the range continues it, so a rerun of an older
+     * range never hides a gap. Returns the number of rows written.
+     */
+    public int rollup(LocalDate from, LocalDate to) {
+        if (from.isAfter(to)) {
+            throw new IllegalArgumentException("from must not be after to");
+        }
+        List<Long> projectIds = ensureWatermarks();
+        int rows = 0;
+        for (Long projectId : projectIds) {
+            rows += transactionTemplate.execute(status -> {
+                BugSnapshotWatermark watermark = lockWatermark(projectId);
+                if (watermark == null) {
+                    return 0;
+                }
+                LocalDate through = rolledUpThrough(watermark);
+                boolean continues = through != null && !from.isAfter(through.plusDays(1)) && to.isAfter(through);
+                int written = rollupProject(projectId, from, to);
+                if (continues) {
+                    watermark.setRolledUpThrough(to);
+                }
+                return written;
+            });
+        }
+        logger.info("Bug snapshots: wrote {} rows for {} projects, {} to {}", rows, projectIds.size(), from, to);
+        return rows;
+    }
+
+    /**
+     * Rolls every project forward from the day after its watermark through {@code through}; a project
+     * without one starts at {@code initialFrom}. Projects run in separate transactions and a failure
+     * leaves that project's watermark where it was, so the next call retries exactly its missing days.
+     * Returns the number of rows written.
+     */
+    public int catchUp(LocalDate through, LocalDate initialFrom) {
+        int rows = 0;
+        int failed = 0;
+        for (Long projectId : ensureWatermarks()) {
+            try {
+                rows += transactionTemplate.execute(status -> {
+                    BugSnapshotWatermark watermark = lockWatermark(projectId);
+                    if (watermark == null) {
+                        return 0;
+                    }
+                    // Read under the lock: a rollup that just finished may have moved it
+                    LocalDate last = rolledUpThrough(watermark);
+                    LocalDate from = last != null ? last.plusDays(1) : initialFrom;
+                    if (from.isAfter(through)) {
+                        return 0;
+                    }
+                    int written = rollupProject(projectId, from, through);
+                    watermark.setRolledUpThrough(through);
+                    return written;
+                });
+            } catch (RuntimeException e) {
+                failed++;
+                logger.error("Bug snapshot rollup failed for project {} (through {}); the next run retries it",
+                        projectId, through, e);
+            }
+        }
+        logger.info("Bug snapshots: caught up through {} with {} rows, {} projects failed", through, rows, failed);
+        return rows;
+    }
+
+    // projectId null sums all projects
+    @Transactional(readOnly = true)
+    public List<BugTrendRow> trend(Long projectId, LocalDate from, LocalDate to) {
+        return snapshotRepository.trend(projectId, from, to);
+    }
+
+    /**
+     * Gives every project a watermark row for rollups to lock, and returns the project ids. Another
+     * instance inserting the same rows at the same moment makes this insert fail; its rows serve as well.
+     */
+    private List<Long> ensureWatermarks() {
+        try {
+            jdbcTemplate.update(ENSURE_WATERMARKS_SQL);
+        } catch (DuplicateKeyException e) {
+            logger.debug("Bug snapshot watermarks were created concurrently", e);
+        }
+        return jdbcTemplate.queryForList("SELECT id FROM projects ORDER BY id", Long.class);
+    }
+
+    /**
+     * Locks the project's watermark row until the transaction ends, so rollups of the same project run
+     * one after the other instead of racing on the delete and insert. Null for a project created after
+     * ensureWatermarks ran; the next run covers it.
+     */
+    private BugSnapshotWatermark lockWatermark(Long projectId) {
+        return watermarkRepository.lockByProjectId(projectId).orElse(null);
+    }
+
+    /**
+     * A project rolled up before watermarks were kept starts from its latest snapshot day, so the first
+     * catch-up after an upgrade does not redo the initial backfill.
+     */
+    private LocalDate rolledUpThrough(BugSnapshotWatermark watermark) {
+        return watermark.getRolledUpThrough() != null ? watermark.getRolledUpThrough()
+                : snapshotRepository.findLatestSnapshotDate(watermark.getProjectId());
+    }
+
+    private int rollupProject(Long projectId, LocalDate from, LocalDate to) {
+        int days = (int) ChronoUnit.DAYS.between(from, to) + 1;
+        LocalDateTime rangeStart = from.atStartOfDay();
+        LocalDateTime rangeEnd = to.plusDays(1).atStartOfDay();
+
+        List<BugState> bugs = jdbcTemplate.query(BUGS_SQL, (rs, i) -> new BugState(
+                rs.getLong("id"),
+                toLocalDateTime(rs.getTimestamp("created_at")),
+                BugStatus.valueOf(rs.getString("status")),
+                rs.getString("severity") != null ? BugSeverity.valueOf(rs.getString("severity")) : BugSeverity.MINOR,
+                rs.getDate("due_date") != null ? rs.getDate("due_date").toLocalDate() : null),
+                projectId, Timestamp.valueOf(rangeEnd));
+
+        // Only changes after the range start matter: later ones tell the status at each day's end
+        Map<Long, List<StatusChange>> changes = new HashMap<>();
+        jdbcTemplate.query(CHANGES_SQL, rs -> {
+            changes.computeIfAbsent(rs.getLong("bug_id"), k -> new ArrayList<>())
+                    .add(new StatusChange(toLocalDateTime(rs.getTimestamp("created_at")),
+                            parse(rs.getString("from_status")), parse(rs.getString("to_status"))));
+        }, projectId, Timestamp.valueOf(rangeStart));
+
+        int[][] counts = new int[days][COLUMNS];
+        int firstDay = days;
+        for (BugState bug : bugs) {
+            int createdDay = bug.createdAt() == null ? 0
+                    : (int) Math.max(0, ChronoUnit.DAYS.between(from, bug.createdAt().toLocalDate()));
+            firstDay = Math.min(firstDay, createdDay);
+            if (bug.createdAt() != null && !bug.createdAt().isBefore(rangeStart)) {
+                counts[createdDay][CREATED_ON_DAY]++;
+            }
+
+            List<StatusChange> bugChanges = changes.getOrDefault(bug.id(), List.of());
+            int next = 0;
+            for (int d = createdDay; d < days; d++) {
+                LocalDateTime endOfDay = rangeStart.plusDays(d + 1L);
+                while (next < bugChanges.size() && bugChanges.get(next).at().isBefore(endOfDay)) {
+                    next++;
+                }
+                BugStatus status = next < bugChanges.size() ? bugChanges.get(next).from() : bug.status();
+                int[] day = counts[d];
+                day[statusColumn(status)]++;
+                if (status != BugStatus.CLOSED) {
+                    day[severityColumn(bug.severity())]++;
+                    if (bug.dueDate() != null && bug.dueDate().isBefore(from.plusDays(d))) {
+                        day[OVERDUE]++;
+                    }
+                }
+            }
+            for (StatusChange change : bugChanges) {
+                if (change.to() == BugStatus.CLOSED && change.at().isBefore(rangeEnd)) {
+                    counts[(int) ChronoUnit.DAYS.between(from, change.at().toLocalDate())][CLOSED_ON_DAY]++;
+                }
+            }
+        }
+
+        snapshotRepository.deleteRange(projectId, from, to);
+        // No rows for days before the project's first bug
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        List<Object[]> rows = new ArrayList<>(Math.max(0, days - firstDay));
+        for (int d = firstDay; d < days; d++) {
+            Object[] row = new Object[COLUMNS + 3];
+            row[0] = projectId;
+            row[1] = Date.valueOf(from.plusDays(d));
+            for (int c = 0; c < COLUMNS; c++) {
+                row[c + 2] = counts[d][c];
+            }
+            row[COLUMNS + 2] = now;
+            rows.add(row);
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, rows);
+        return rows.size();
+    }
+
+    private static int statusColumn(BugStatus status) {
+        return switch (status) {
+            case OPEN -> OPEN;
+            case IN_PROGRESS -> IN_PROGRESS;
+            case REVIEW -> REVIEW;
+            case TESTING -> TESTING;
+            case CLOSED -> CLOSED;
+        };
+    }
+
+    private static int severityColumn(BugSeverity severity) {
+        return switch (severity) {
+            case MINOR -> MINOR;
+            case MAJOR -> MAJOR;
+            case BLOCKER -> BLOCKER;
+            case CRITICAL -> CRITICAL;
+        };
+    }
+
+    // An unknown from status (null) is treated as OPEN, the status every bug starts in
+    private static BugStatus parse(String status) {
+        return status != null ? BugStatus.valueOf(status) : BugStatus.OPEN;
+    }
+
+    private static LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    }
+}
@@ -0,0 +1,114 @@
+package org.miniproject.bugnest.service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes RFC 4180 rows to a Writer field by field. Values are escaped while they are copied, and numbers
+ * and timestamps are formatted straight into the output, so no per-row or per-field strings are built.
+ * The caller owns the Writer (buffering, flushing, closing).
+ */
+public class CsvWriter {
+
+    private final Writer out;
+    private final char[] digits = new char[20];
+    private boolean rowStarted;
+
+    public CsvWriter(Writer out) {
+        this.out = out;
+    }
+
+    public CsvWriter field(CharSequence value) throws IOException {
+        separator();
+        if (value == null) {
+            return this;
+        }
+        int length = value.length();
+        if (!needsQuoting(value, length)) {
+            out.append(value, 0, length);
+            return this;
+        }
+        out.write('"');
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == '"') {
+                out.write('"');
+            }
+            out.write(c);
+        }
+        out.write('"');
+        return this;
+    }
+
+    public CsvWriter field(long value) throws IOException {
+        separator();
+        writeLong(value);
+        return this;
+    }
+
+    public CsvWriter field(Long value) throws IOException {
+        if (value == null) {
+            separator();
+            return this;
+        }
+        return field(value.longValue());
+    }
+
+    public CsvWriter field(LocalDateTime value) throws IOException {
+        separator();
+        if (value != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME.formatTo(value, out);
+        }
+        return this;
+    }
+
+    // Header rows are plain column names, so they go out unescaped
+    public void header(String... columns) throws IOException {
+        for (String column : columns) {
+            separator();
+            out.write(column);
+        }
+        endRow();
+    }
+
+    public void endRow() throws IOException {
+        out.write('\n');
+        rowStarted = false;
+    }
+
+    private void separator() throws IOException {
+        if (rowStarted) {
+            out.write(',');
+        }
+        rowStarted = true;
+    }
+
+    private static boolean needsQuoting(CharSequence value, int length) {
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void writeLong(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            out.write(Long.toString(value));
+            return;
+        }
+        if (value < 0) {
+            out.write('-');
+            value = -value;
+        }
+        int pos = digits.length;
+        do {
+            digits[--pos] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value != 0);
+        out.write(digits, pos, digits.length - pos);
+    }
+}
@@ -1,7 +1,9 @@
 package org.miniproject.bugnest.service;
 
+import org.miniproject.bugnest.model.Status;
 import org.miniproject.bugnest.model.User;
 import org.miniproject.bugnest.repository.UserRepository;
+import org.miniproject.bugnest.security.AuthenticatedUser;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
@@ -18,16 +20,31 @@ public class CustomUserDetailsService implements UserDetailsService {
     @Autowired
     UserRepository userRepository;
 
+    @Autowired
+    UserCache userCache;
+
     @Override
     @Transactional
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
 
+        // Deactivated users fail login with DisabledException
         return new org.springframework.security.core.userdetails.User(
                 user.getEmail(),
                 user.getPassword(),
+                user.getStatus() == Status.ACTIVE,
+                true,
+                true,
+                true,
                 Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + user.getRole().name()))
         );
     }
+
+    // Per-request principal for token authentication, served from the short-lived user cache.
+    public AuthenticatedUser loadAuthenticatedUser(String email) throws UsernameNotFoundException {
+        return userCache.findByEmail(email)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User Not Found with email: " + email));
+    }
 }
@@ -0,0 +1,93 @@
+package org.miniproject.bugnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.miniproject.bugnest.model.ProjectMemberStatus;
+import org.miniproject.bugnest.repository.ProjectMemberRepository;
+import org.miniproject.bugnest.repository.ProjectMembership;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Bounded cache of (userId, projectId) -> membership role and status, in front of the membership lookups
+ * done on almost every bug request. Every code path that creates, changes or deletes a ProjectMember
+ * must call {@link #evict}. Hit/miss counts are published as the "projectMembership" cache metrics.
+ */
+@Service
+public class ProjectMembershipCache {
+
+    // Caffeine does not store nulls, so "not a member" is cached as this marker
+    private static final ProjectMembership NONE = new ProjectMembership(null, null);
+
+    private final Cache<Key, ProjectMembership> cache;
+
+    @Autowired
+    private ProjectMemberRepository memberRepository;
+
+    public ProjectMembershipCache(@Value("${app.membership-cache.max-size:10000}") long maxSize,
+                                  @Value("${app.membership-cache.ttl:5m}") Duration ttl,
+                                  ObjectProvider<MeterRegistry> meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> CaffeineCacheMetrics.monitor(registry, cache, "projectMembership"));
+    }
+
+    public Optional<ProjectMembership> get(Long projectId, Long userId) {
+        if (projectId == null || userId == null) {
+            return Optional.empty();
+        }
+        ProjectMembership membership = cache.get(new Key(userId, projectId), this::load);
+        return membership == NONE ? Optional.empty() : Optional.of(membership);
+    }
+
+    public boolean isAcceptedMember(Long projectId, Long userId) {
+        return get(projectId, userId).map(ProjectMembership::isAccepted).orElse(false);
+    }
+
+    /**
+     * Drops the entry now and again after the surrounding transaction commits, so a concurrent reader
+     * cannot re-cache the pre-commit row.
+     */
+    public void evict(Long projectId, Long userId) {
+        if (projectId == null || userId == null) {
+            return;
+        }
+        Key key = new Key(userId, projectId);
+        cache.invalidate(key);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    cache.invalidate(key);
+                }
+            });
+        }
+    }
+
+    private ProjectMembership load(Key key) {
+        List<ProjectMembership> rows = memberRepository.findMembership(key.projectId(), key.userId());
+        if (rows.isEmpty()) {
+            return NONE;
+        }
+        // (project, user) should be unique; prefer an accepted row if legacy duplicates exist
+        return rows.stream()
+                .filter(m -> m.getStatus() == ProjectMemberStatus.ACCEPTED)
+                .findFirst()
+                .orElse(rows.get(0));
+    }
+
+    private record Key(Long userId, Long projectId) {}
+}
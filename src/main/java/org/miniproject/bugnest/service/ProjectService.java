@@ -24,9 +24,15 @@ public class ProjectService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private UserCache userCache;
+
     @Autowired
     private NotificationService notificationService;
 
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
     @Transactional
     public Project createProject(ProjectCreateRequest request, User creator) {
         Project project = new Project();
@@ -52,6 +58,7 @@ public class ProjectService {
         member.setJoinedAt(LocalDateTime.now());
         member.setProjectOwner(true);
         memberRepository.save(member);
+        membershipCache.evict(savedProject.getId(), creator.getId());
 
         return savedProject;
     }
@@ -90,13 +97,13 @@ public class ProjectService {
                 .orElseThrow(() -> new RuntimeException("Project not found"));
         
         // Security Check: Only Admin or Project Manager (accepted member) can invite
-        ProjectMember inviterMembership = memberRepository.findByProjectAndUser(project, inviter)
+        ProjectMembership inviterMembership = membershipCache.get(project.getId(), inviter.getId())
                 .orElse(null);
 
         boolean isAdmin = inviter.getRole() == Role.ADMIN;
         boolean isPM = inviterMembership != null && 
                        inviterMembership.getRole() == Role.PROJECT_MANAGER && 
-                       inviterMembership.getStatus() == ProjectMemberStatus.ACCEPTED;
+                       inviterMembership.isAccepted();
 
         if (!isAdmin && !isPM) {
             throw new RuntimeException("Access Denied: Only project managers or admins can invite members.");
@@ -113,7 +120,7 @@ public class ProjectService {
         }
 
         // Search for existing user
-        Optional<User> targetUser = userRepository.findByEmail(email);
+        Optional<User> targetUser = userCache.findByEmail(email);
         
         // Check for existing membership/invite
         if (targetUser.isPresent()) {
@@ -136,6 +143,7 @@ public class ProjectService {
                     m.setInvitedBy(inviter);
                     m.setMessage(request.getMessage());
                     memberRepository.save(m);
+                    membershipCache.evict(project.getId(), targetUser.get().getId());
                     return;
                 }
             }
@@ -172,6 +180,9 @@ public class ProjectService {
         member.setInvitedAt(LocalDateTime.now());
         member.setMessage(request.getMessage());
         memberRepository.save(member);
+        if (member.getUser() != null) {
+            membershipCache.evict(project.getId(), member.getUser().getId());
+        }
         
         // TODO: Send email notification
 
@@ -203,6 +214,9 @@ public class ProjectService {
         }
 
         memberRepository.delete(memberToRemove);
+        if (memberToRemove.getUser() != null) {
+            membershipCache.evict(project.getId(), memberToRemove.getUser().getId());
+        }
     }
 
     public List<UserSummaryResponse> getAvailableUsers(Long projectId, Role role) {
@@ -256,6 +270,7 @@ public class ProjectService {
             member.setStatus(ProjectMemberStatus.REJECTED);
             memberRepository.save(member);
         }
+        membershipCache.evict(member.getProject().getId(), user.getId());
     }
 
     public List<ProjectMemberResponse> getPendingInvitesForUser(User user) {
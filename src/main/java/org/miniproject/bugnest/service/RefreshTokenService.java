@@ -0,0 +1,173 @@
+package org.miniproject.bugnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.miniproject.bugnest.model.RefreshToken;
+import org.miniproject.bugnest.model.Status;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Issues and rotates opaque refresh tokens. Tokens are random; the table only holds an HMAC-SHA256 of
+ * them, so a refresh costs one HMAC and one indexed lookup instead of a BCrypt verify. Each refresh
+ * revokes the presented token and issues a new one in the same family; presenting a revoked token
+ * again is treated as theft and revokes the whole family.
+ */
+@Service
+public class RefreshTokenService {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int TOKEN_BYTES = 32;
+
+    @Getter
+    @AllArgsConstructor
+    public static class Rotation {
+        private final User user;
+        private final String refreshToken;
+    }
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private final SecretKeySpec hmacKey;
+    private final Duration ttl;
+
+    // First 8 bytes of the HMAC of recently revoked tokens -> family id, so a replay skips the token lookup
+    private final Cache<Long, String> revoked;
+
+    public RefreshTokenService(@Value("${app.jwtSecret}") String secret,
+                               @Value("${app.refresh-token.ttl:14d}") Duration ttl,
+                               @Value("${app.refresh-token.revoked-cache-size:100000}") long revokedCacheSize) {
+        this.hmacKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.ttl = ttl;
+        this.revoked = Caffeine.newBuilder()
+                .maximumSize(revokedCacheSize)
+                .expireAfterWrite(ttl)
+                .build();
+    }
+
+    @Transactional
+    public String issue(User user) {
+        LocalDateTime now = LocalDateTime.now();
+        refreshTokenRepository.deleteExpiredForUser(user.getId(), now);
+        return create(user, UUID.randomUUID().toString(), now);
+    }
+
+    // The rejection paths revoke rows before throwing, and that must still commit
+    @Transactional(noRollbackFor = ResponseStatusException.class)
+    public Rotation rotate(String token) {
+        byte[] mac = hmac(token);
+        LocalDateTime now = LocalDateTime.now();
+        String revokedFamily = revoked.getIfPresent(prefix(mac));
+        if (revokedFamily != null) {
+            revokeFamily(revokedFamily, now);
+            throw invalid();
+        }
+        RefreshToken current = refreshTokenRepository.findByTokenHashWithUser(HexFormat.of().formatHex(mac))
+                .orElseThrow(RefreshTokenService::invalid);
+
+        if (current.getRevokedAt() != null || refreshTokenRepository.revokeIfActive(current.getId(), now) == 0) {
+            revokeFamily(current.getFamilyId(), now);
+            remember(mac, current.getFamilyId());
+            throw invalid();
+        }
+        remember(mac, current.getFamilyId());
+        if (current.getExpiresAt().isBefore(now)) {
+            throw invalid();
+        }
+        User user = current.getUser();
+        if (user.getStatus() != Status.ACTIVE) {
+            revokeFamily(current.getFamilyId(), now);
+            throw invalid();
+        }
+        return new Rotation(user, create(user, current.getFamilyId(), now));
+    }
+
+    /** Logout: revokes the presented token and every token rotated from the same login. Unknown tokens are ignored. */
+    @Transactional
+    public void revoke(String token) {
+        if (token == null || token.isBlank()) {
+            return;
+        }
+        byte[] mac = hmac(token);
+        refreshTokenRepository.findByTokenHashWithUser(HexFormat.of().formatHex(mac)).ifPresent(t -> {
+            revokeFamily(t.getFamilyId(), LocalDateTime.now());
+            remember(mac, t.getFamilyId());
+        });
+    }
+
+    /** Deactivation or password change: ends every refresh chain the user has. */
+    @Transactional
+    public void revokeAllForUser(User user) {
+        refreshTokenRepository.revokeAllForUser(user.getId(), LocalDateTime.now());
+    }
+
+    private String create(User user, String familyId, LocalDateTime now) {
+        byte[] raw = new byte[TOKEN_BYTES];
+        RANDOM.nextBytes(raw);
+        String token = Base64.getUrlEncoder().withoutPadding().encodeToString(raw);
+
+        RefreshToken row = new RefreshToken();
+        row.setUser(user);
+        row.setTokenHash(HexFormat.of().formatHex(hmac(token)));
+        row.setFamilyId(familyId);
+        row.setExpiresAt(now.plus(ttl));
+        refreshTokenRepository.save(row);
+        return token;
+    }
+
+    private void revokeFamily(String familyId, LocalDateTime now) {
+        List<String> active = refreshTokenRepository.findActiveHashesByFamilyId(familyId);
+        refreshTokenRepository.revokeFamily(familyId, now);
+        for (String hash : active) {
+            remember(HexFormat.of().parseHex(hash), familyId);
+        }
+    }
+
+    private void remember(byte[] mac, String familyId) {
+        revoked.put(prefix(mac), familyId);
+    }
+
+    private byte[] hmac(String token) {
+        if (token == null || token.isBlank()) {
+            throw invalid();
+        }
+        try {
+            // Mac instances are not thread-safe, and creating one is cheap next to the lookup
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(hmacKey);
+            return mac.doFinal(token.getBytes(StandardCharsets.UTF_8));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+    }
+
+    private static long prefix(byte[] mac) {
+        return ByteBuffer.wrap(mac, 0, Long.BYTES).getLong();
+    }
+
+    private static ResponseStatusException invalid() {
+        return new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Invalid refresh token");
+    }
+}
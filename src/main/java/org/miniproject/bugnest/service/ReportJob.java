@@ -0,0 +1,115 @@
+package org.miniproject.bugnest.service;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One background export run. State is written by the worker thread and read by status requests, so the
+ * mutable fields are volatile; {@link ReportJobService} is the only writer.
+ */
+@Getter
+public class ReportJob {
+
+    public enum Report { PROJECTS, USERS }
+
+    public enum State { QUEUED, RUNNING, DONE, FAILED }
+
+    private final String id;
+    private final Report report;
+    private final boolean gzip;
+    private final Instant createdAt;
+    private final AtomicLong rowsWritten = new AtomicLong();
+
+    private volatile State state = State.QUEUED;
+    private volatile long totalRows;
+    private volatile Path file;
+    private volatile String error;
+    private volatile Instant finishedAt;
+
+    // Guarded by this job's monitor: open downloads, and whether expiry is waiting for them to finish
+    @Getter(AccessLevel.NONE)
+    private int readers;
+    @Getter(AccessLevel.NONE)
+    private boolean expired;
+
+    ReportJob(String id, Report report, boolean gzip, Instant createdAt) {
+        this.id = id;
+        this.report = report;
+        this.gzip = gzip;
+        this.createdAt = createdAt;
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    // 0-100; stays below 100 until the file is complete, since totalRows is only an estimate
+    public int getProgress() {
+        if (state == State.DONE) {
+            return 100;
+        }
+        long total = totalRows;
+        if (total <= 0) {
+            return 0;
+        }
+        return (int) Math.min(99, rowsWritten.get() * 100 / total);
+    }
+
+    public boolean isFinished() {
+        return state == State.DONE || state == State.FAILED;
+    }
+
+    public String getFilename() {
+        return "bugnest-" + report.name().toLowerCase(Locale.ROOT) + "-report-" + id + (gzip ? ".csv.gz" : ".csv");
+    }
+
+    String dedupeKey() {
+        return report + (gzip ? ":gzip" : ":plain");
+    }
+
+    void started(long totalRows) {
+        this.totalRows = totalRows;
+        this.state = State.RUNNING;
+    }
+
+    void rowsWritten(long rows) {
+        rowsWritten.set(rows);
+    }
+
+    void done(Path file, Instant now) {
+        this.file = file;
+        this.finishedAt = now;
+        this.state = State.DONE;
+    }
+
+    void failed(String error, Instant now) {
+        this.error = error;
+        this.finishedAt = now;
+        this.state = State.FAILED;
+    }
+
+    // Registers a download; false once the job has expired, since its file is about to go
+    synchronized boolean acquire() {
+        if (expired || state != State.DONE) {
+            return false;
+        }
+        readers++;
+        return true;
+    }
+
+    // True when this was the last download of an expired job, so the caller should delete the file
+    synchronized boolean release() {
+        return --readers == 0 && expired;
+    }
+
+    // True when no download holds the file, so the caller may delete it now
+    synchronized boolean expire() {
+        expired = true;
+        return readers == 0;
+    }
+}
@@ -0,0 +1,259 @@
+package org.miniproject.bugnest.service;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.BufferedWriter;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileAttribute;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Runs admin exports in the background for reports that would outlive a proxy timeout. Jobs run on a
+ * small bounded pool and write to a file under app.report-jobs.dir; a request for a report that is
+ * already queued or running joins that run instead of starting another. Finished files are deleted
+ * app.report-jobs.ttl after completion, or when the last download still reading them closes; a download
+ * that is never closed (the response failed before the file was written out) holds it for at most
+ * app.report-jobs.download-grace longer. The directory and files are owner-only, since exports hold every user's email. Jobs are kept in memory,
+ * so a restart forgets them (and the leftover files are removed at startup).
+ */
+@Service
+public class ReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportJobService.class);
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final Set<PosixFilePermission> OWNER_DIRECTORY = PosixFilePermissions.fromString("rwx------");
+    private static final Set<PosixFilePermission> OWNER_FILE = PosixFilePermissions.fromString("rw-------");
+
+    private final AdminReportService adminReportService;
+    private final Path directory;
+    private final Duration ttl;
+    private final Duration downloadGrace;
+    private final Clock clock;
+    private final ThreadPoolExecutor executor;
+    private final boolean posix;
+
+    private final Map<String, ReportJob> jobs = new ConcurrentHashMap<>();
+    // dedupe key -> job that is queued or running for it
+    private final Map<String, ReportJob> active = new ConcurrentHashMap<>();
+    // expired jobs whose file a download still holds
+    private final Map<String, ReportJob> draining = new ConcurrentHashMap<>();
+
+    @Autowired
+    public ReportJobService(AdminReportService adminReportService,
+                            @Value("${app.report-jobs.dir:${java.io.tmpdir}/bugnest-reports}") String directory,
+                            @Value("${app.report-jobs.threads:2}") int threads,
+                            @Value("${app.report-jobs.queue-capacity:8}") int queueCapacity,
+                            @Value("${app.report-jobs.ttl:1h}") Duration ttl,
+                            @Value("${app.report-jobs.download-grace:PT15M}") Duration downloadGrace) {
+        this(adminReportService, Paths.get(directory), threads, queueCapacity, ttl, downloadGrace, Clock.systemUTC());
+    }
+
+    ReportJobService(AdminReportService adminReportService, Path directory, int threads, int queueCapacity,
+                     Duration ttl, Duration downloadGrace, Clock clock) {
+        this.adminReportService = adminReportService;
+        this.directory = directory;
+        this.ttl = ttl;
+        this.downloadGrace = downloadGrace;
+        this.clock = clock;
+        this.posix = directory.getFileSystem().supportedFileAttributeViews().contains("posix");
+        AtomicInteger counter = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(Math.max(1, threads), Math.max(1, threads), 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, queueCapacity)),
+                r -> {
+                    Thread t = new Thread(r, "report-job-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        try {
+            if (posix) {
+                Files.createDirectories(directory, PosixFilePermissions.asFileAttribute(OWNER_DIRECTORY));
+                // An existing directory keeps whatever mode it was created with
+                Files.setPosixFilePermissions(directory, OWNER_DIRECTORY);
+            } else {
+                Files.createDirectories(directory);
+            }
+            deleteLeftovers();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare report directory " + directory, e);
+        }
+    }
+
+    /** Starts an export, or returns the queued/running job for the same report. */
+    public ReportJob submit(ReportJob.Report report, boolean gzip) {
+        ReportJob candidate = new ReportJob(UUID.randomUUID().toString(), report, gzip, clock.instant());
+        ReportJob job = active.computeIfAbsent(candidate.dedupeKey(), key -> {
+            jobs.put(candidate.getId(), candidate);
+            try {
+                executor.execute(() -> run(candidate));
+            } catch (RejectedExecutionException e) {
+                jobs.remove(candidate.getId());
+                throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, "Too many report jobs, try again later");
+            }
+            return candidate;
+        });
+        return job;
+    }
+
+    public Optional<ReportJob> find(String id) {
+        return Optional.ofNullable(jobs.get(id));
+    }
+
+    public Instant expiresAt(ReportJob job) {
+        return job.getFinishedAt() != null ? job.getFinishedAt().plus(ttl) : null;
+    }
+
+    /**
+     * Opens a finished job's file for download, or returns empty once the job has expired. The file is
+     * not deleted while the returned stream is open, so close it when the response is written.
+     */
+    public Optional<InputStream> openDownload(ReportJob job) throws IOException {
+        if (!job.acquire()) {
+            return Optional.empty();
+        }
+        InputStream in;
+        try {
+            in = Files.newInputStream(job.getFile());
+        } catch (IOException | RuntimeException e) {
+            release(job);
+            throw e;
+        }
+        AtomicBoolean closed = new AtomicBoolean();
+        return Optional.of(new FilterInputStream(in) {
+            @Override
+            public void close() throws IOException {
+                try {
+                    super.close();
+                } finally {
+                    if (closed.compareAndSet(false, true)) {
+                        release(job);
+                    }
+                }
+            }
+        });
+    }
+
+    /**
+     * Drops finished jobs older than the TTL. Their files go now, or when the last open download closes,
+     * but no later than the grace period after expiry: a stream nobody closes must not keep the file forever.
+     */
+    @Scheduled(fixedDelayString = "${app.report-jobs.cleanup-interval:PT1M}")
+    public void expire() {
+        Instant now = clock.instant();
+        for (ReportJob job : jobs.values()) {
+            if (job.isFinished() && !expiresAt(job).isAfter(now)) {
+                jobs.remove(job.getId());
+                if (job.expire()) {
+                    deleteQuietly(job.getFile());
+                } else {
+                    draining.put(job.getId(), job);
+                }
+            }
+        }
+        for (ReportJob job : draining.values()) {
+            if (!expiresAt(job).plus(downloadGrace).isAfter(now)) {
+                draining.remove(job.getId());
+                // Already gone if the last download closed in time
+                deleteQuietly(job.getFile());
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private void run(ReportJob job) {
+        Path part = directory.resolve(job.getId() + ".part");
+        try {
+            job.started(job.getReport() == ReportJob.Report.USERS
+                    ? adminReportService.countUsers()
+                    : adminReportService.countProjects());
+            Files.createFile(part, ownerOnly());
+            try (OutputStream file = Files.newOutputStream(part);
+                 OutputStream target = job.isGzip() ? new GZIPOutputStream(file, WRITE_BUFFER_SIZE) : file;
+                 Writer writer = new BufferedWriter(new OutputStreamWriter(target, StandardCharsets.UTF_8), WRITE_BUFFER_SIZE)) {
+                if (job.getReport() == ReportJob.Report.USERS) {
+                    adminReportService.writeUserMetricsCsv(writer, job::rowsWritten);
+                } else {
+                    adminReportService.writeProjectMetricsCsv(writer, job::rowsWritten);
+                }
+            }
+            // Renamed only when complete, so a download never sees a partial file
+            Path done = Files.move(part, directory.resolve(job.getFilename()), StandardCopyOption.ATOMIC_MOVE);
+            job.done(done, clock.instant());
+        } catch (Exception e) {
+            logger.warn("Report job {} ({}) failed", job.getId(), job.getReport(), e);
+            deleteQuietly(part);
+            job.failed("Report generation failed", clock.instant());
+        } finally {
+            active.remove(job.dedupeKey(), job);
+        }
+    }
+
+    private void release(ReportJob job) {
+        if (job.release()) {
+            deleteQuietly(job.getFile());
+        }
+    }
+
+    private FileAttribute<?>[] ownerOnly() {
+        return posix ? new FileAttribute<?>[] {PosixFilePermissions.asFileAttribute(OWNER_FILE)} : new FileAttribute<?>[0];
+    }
+
+    private void deleteLeftovers() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*.{part,csv,csv.gz}")) {
+            for (Path file : files) {
+                deleteQuietly(file);
+            }
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        if (file == null) {
+            return;
+        }
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete report file {}", file, e);
+        }
+    }
+}
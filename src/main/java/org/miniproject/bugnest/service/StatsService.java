@@ -16,50 +16,29 @@ public class StatsService {
     private ProjectMemberRepository memberRepository;
 
     @Autowired
-    private BugRepository bugRepository;
+    private BugCounterService bugCounterService;
 
     public DashboardStatsResponse getStatsForUser(User user) {
         long totalProjects;
         long openBugs;
         long assignedBugs;
         long resolvedBugs;
-        long pendingInvites = memberRepository.findByUserAndStatus(user, ProjectMemberStatus.PENDING).size();
+        long pendingInvites = memberRepository.countByUser_IdAndStatus(user.getId(), ProjectMemberStatus.PENDING);
 
         if (user.getRole() == Role.ADMIN) {
             totalProjects = projectRepository.count();
-            openBugs = bugRepository.countByStatusNot(BugStatus.CLOSED);
-            assignedBugs = bugRepository.countByAssigneeIsNotNull();
-            resolvedBugs = bugRepository.countByStatus(BugStatus.CLOSED);
+            BugCounterTotals totals = bugCounterService.totalsForAll();
+            openBugs = totals.getOpen();
+            assignedBugs = totals.getAssigned();
+            resolvedBugs = totals.getClosed();
         } else {
-            // Stats based on projects the user is part of
-            java.util.List<Project> myProjects = memberRepository.findByUser_IdAndStatus(user.getId(), ProjectMemberStatus.ACCEPTED)
-                    .stream()
-                    .map(ProjectMember::getProject)
-                    .collect(java.util.stream.Collectors.toList());
-
-            totalProjects = myProjects.size();
-            
-            if (myProjects.isEmpty()) {
-                openBugs = 0;
-                assignedBugs = 0;
-                resolvedBugs = 0;
-            } else {
-                // Bugs in user's projects
-                java.util.List<Bug> allMyProjectBugs = bugRepository.findByProjectInOrderByUpdatedAtDesc(myProjects);
-                
-                openBugs = allMyProjectBugs.stream()
-                        .filter(b -> b.getStatus() != BugStatus.CLOSED)
-                        .count();
-                
-                // Specifically assigned to this user
-                assignedBugs = allMyProjectBugs.stream()
-                        .filter(b -> b.getAssignee() != null && b.getAssignee().getId().equals(user.getId()))
-                        .count();
-                
-                resolvedBugs = allMyProjectBugs.stream()
-                        .filter(b -> b.getStatus() == BugStatus.CLOSED)
-                        .count();
-            }
+            // Stats based on projects the user is part of, summed from the maintained bug_counters
+            totalProjects = memberRepository.countByUser_IdAndStatus(user.getId(), ProjectMemberStatus.ACCEPTED);
+            BugCounterTotals totals = bugCounterService.totalsForMember(user.getId());
+            openBugs = totals.getOpen();
+            // Specifically assigned to this user
+            assignedBugs = totals.getAssigned();
+            resolvedBugs = totals.getClosed();
         }
 
         return DashboardStatsResponse.builder()
@@ -0,0 +1,128 @@
+package org.miniproject.bugnest.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Short-lived, bounded cache of users by id and by email, used for authentication and for the user
+ * lookups done while assigning bugs and inviting members. Entries are copies: callers get a detached
+ * instance they may read but must not save, and cannot mutate the cached one. Every code path that
+ * writes a user must call {@link #put} or {@link #evict}. Hit/miss counts are published as the "users"
+ * and "usersByEmail" cache metrics.
+ */
+@Service
+public class UserCache {
+
+    private final Cache<Long, User> byId;
+    private final Cache<String, Long> idByEmail;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    public UserCache(@Value("${app.user-cache.max-size:10000}") long maxSize,
+                     @Value("${app.user-cache.ttl:30s}") Duration ttl,
+                     ObjectProvider<MeterRegistry> meterRegistry) {
+        this.byId = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.idByEmail = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        meterRegistry.ifAvailable(registry -> {
+            CaffeineCacheMetrics.monitor(registry, byId, "users");
+            CaffeineCacheMetrics.monitor(registry, idByEmail, "usersByEmail");
+        });
+    }
+
+    public Optional<User> findById(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        // unknown ids are not cached
+        User cached = byId.get(id, key -> userRepository.findById(key).map(UserCache::copyOf).orElse(null));
+        return Optional.ofNullable(cached).map(UserCache::copyOf);
+    }
+
+    public Optional<User> findByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long id = idByEmail.getIfPresent(email);
+        User cached = id != null ? byId.getIfPresent(id) : null;
+        if (cached == null || !email.equals(cached.getEmail())) {
+            cached = userRepository.findByEmail(email).map(UserCache::copyOf).orElse(null);
+            if (cached == null) {
+                idByEmail.invalidate(email);
+                return Optional.empty();
+            }
+            store(cached);
+        }
+        return Optional.of(copyOf(cached));
+    }
+
+    /**
+     * Write-through after a user was saved. Inside a transaction the entry is only dropped, now and after
+     * completion, so an uncommitted row never becomes visible to other requests.
+     */
+    public void put(User user) {
+        if (user == null || user.getId() == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(user);
+            return;
+        }
+        store(copyOf(user));
+    }
+
+    public void evict(User user) {
+        if (user == null) {
+            return;
+        }
+        invalidate(user);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    invalidate(user);
+                }
+            });
+        }
+    }
+
+    private void store(User user) {
+        byId.put(user.getId(), user);
+        idByEmail.put(user.getEmail(), user.getId());
+    }
+
+    private void invalidate(User user) {
+        if (user.getId() != null) {
+            byId.invalidate(user.getId());
+        }
+        if (user.getEmail() != null) {
+            idByEmail.invalidate(user.getEmail());
+        }
+    }
+
+    private static User copyOf(User user) {
+        return new User(user.getId(), user.getName(), user.getEmail(), user.getPassword(), user.getRole(),
+                user.getStatus(), user.getCreatedAt(), user.getUpdatedAt());
+    }
+}
@@ -4,6 +4,7 @@ import org.miniproject.bugnest.dto.PasswordChangeRequest;
 import org.miniproject.bugnest.dto.ProfileUpdateRequest;
 import org.miniproject.bugnest.model.User;
 import org.miniproject.bugnest.repository.UserRepository;
+import org.miniproject.bugnest.security.TokenDenylist;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -21,6 +22,15 @@ public class UserService {
     @Autowired
     private PasswordEncoder passwordEncoder;
 
+    @Autowired
+    private UserCache userCache;
+
+    @Autowired
+    private TokenDenylist tokenDenylist;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
     public User updateUserProfile(String email, ProfileUpdateRequest request) {
         Optional<User> userOptional = userRepository.findByEmail(email);
         if (userOptional.isPresent()) {
@@ -29,7 +39,9 @@ public class UserService {
                 user.setName(request.getFullName());
             }
             // Add other field updates here
-            return userRepository.save(user);
+            User saved = userRepository.save(user);
+            userCache.put(saved);
+            return saved;
         }
         throw new RuntimeException("User not found");
     }
@@ -42,14 +54,16 @@ public class UserService {
                 throw new RuntimeException("Invalid current password");
             }
             user.setPassword(passwordEncoder.encode(request.getNewPassword()));
-            userRepository.save(user);
+            userCache.put(userRepository.save(user));
+            // Sessions started with the old password end here
+            revokeSessions(user);
         } else {
             throw new RuntimeException("User not found");
         }
     }
     
     public User getUserPixel(String email) {
-         return userRepository.findByEmail(email)
+         return userCache.findByEmail(email)
                  .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User not found"));
     }
 
@@ -61,6 +75,26 @@ public class UserService {
                 .collect(java.util.stream.Collectors.toList());
     }
 
+    public User updateUserStatus(Long userId, org.miniproject.bugnest.model.Status status, User actor) {
+        if (actor.getRole() != org.miniproject.bugnest.model.Role.ADMIN) {
+            throw new RuntimeException("Only Admins can change user status");
+        }
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new RuntimeException("User not found"));
+        user.setStatus(status);
+        User saved = userRepository.save(user);
+        userCache.put(saved);
+        if (status != org.miniproject.bugnest.model.Status.ACTIVE) {
+            revokeSessions(saved);
+        }
+        return saved;
+    }
+
+    private void revokeSessions(User user) {
+        tokenDenylist.revokeAllForUser(user.getEmail());
+        refreshTokenService.revokeAllForUser(user);
+    }
+
     @Autowired
     private EmailService emailService;
 
@@ -81,6 +115,7 @@ public class UserService {
         user.setPassword(passwordEncoder.encode(defaultPassword));
 
         User savedUser = userRepository.save(user);
+        userCache.put(savedUser);
 
         // Auto-attach to pending projects
         autoAttachToProjects(savedUser);
@@ -91,6 +126,9 @@ public class UserService {
     @Autowired
     private org.miniproject.bugnest.repository.ProjectMemberRepository projectMemberRepository;
 
+    @Autowired
+    private ProjectMembershipCache membershipCache;
+
     private void autoAttachToProjects(User user) {
         java.util.List<org.miniproject.bugnest.model.ProjectMember> pendingInvites = 
             projectMemberRepository.findByInvitedEmailAndStatus(user.getEmail(), org.miniproject.bugnest.model.ProjectMemberStatus.PENDING);
@@ -100,6 +138,7 @@ public class UserService {
             member.setStatus(org.miniproject.bugnest.model.ProjectMemberStatus.ACCEPTED);
             member.setJoinedAt(java.time.LocalDateTime.now());
             projectMemberRepository.save(member);
+            membershipCache.evict(member.getProject().getId(), user.getId());
         }
     }
     public User registerPublicUser(org.miniproject.bugnest.dto.RegisterRequest request) {
@@ -115,6 +154,7 @@ public class UserService {
         user.setStatus(org.miniproject.bugnest.model.Status.ACTIVE);
 
         User savedUser = userRepository.save(user);
+        userCache.put(savedUser);
         autoAttachToProjects(savedUser);
         return savedUser;
     }
@@ -0,0 +1,86 @@
+package org.miniproject.bugnest.config;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.miniproject.bugnest.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The backfill SQL is PostgreSQL-only: set BUGNEST_TEST_DB_URL (plus BUGNEST_DB_USER /
+ * BUGNEST_DB_PASSWORD) to a scratch database to run it. The test rolls back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "BUGNEST_TEST_DB_URL", matches = ".+")
+@Import(BugTagBackfill.class)
+class BugTagBackfillTests {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("BUGNEST_TEST_DB_URL"));
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugTagBackfill backfill;
+
+    @Test
+    void legacyBugsAreFilledEvenWhenOthersAlreadyHaveRows() {
+        User admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("backfill-admin@test.local");
+        admin.setPassword("x");
+        admin.setRole(Role.ADMIN);
+        admin.setStatus(Status.ACTIVE);
+        em.persist(admin);
+        Project project = new Project();
+        project.setName("Backfill");
+        project.setProjectKey("BKF");
+        project.setCreator(admin);
+        em.persist(project);
+
+        // Created after the upgrade: already has bug_tags rows
+        Bug fresh = bug(project, admin, 1, "api");
+        em.persist(new BugTag(fresh, "api"));
+        // Written by an instance that only knew bugs.tags
+        Bug legacy = bug(project, admin, 2, "UI, login ,ui");
+        em.flush();
+
+        backfill.run();
+
+        assertThat(tags(legacy)).containsExactlyInAnyOrder("ui", "login");
+        assertThat(tags(fresh)).containsExactly("api");
+    }
+
+    private Bug bug(Project project, User creator, int n, String tags) {
+        Bug bug = new Bug();
+        bug.setBugId("BKF-" + n);
+        bug.setTitle("Bug " + n);
+        bug.setPriority(BugPriority.MEDIUM);
+        bug.setStatus(BugStatus.OPEN);
+        bug.setTags(tags);
+        bug.setProject(project);
+        bug.setCreator(creator);
+        return em.persist(bug);
+    }
+
+    private List<String> tags(Bug bug) {
+        return jdbcTemplate.queryForList("SELECT tag FROM bug_tags WHERE bug_id = ?", String.class, bug.getId());
+    }
+}
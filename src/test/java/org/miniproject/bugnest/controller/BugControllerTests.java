@@ -0,0 +1,95 @@
+package org.miniproject.bugnest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.ProjectRepository;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bug-controller;MODE=PostgreSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.search.rebuild-on-startup=false",
+        "app.bug-counters.reconcile-on-startup=false",
+        "app.snapshots.catch-up-on-startup=false"
+})
+@AutoConfigureMockMvc
+class BugControllerTests {
+
+    private static final String FAR_FUTURE = DateTimeFormatter.RFC_1123_DATE_TIME.format(ZonedDateTime.now().plusYears(1));
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BugRepository bugRepository;
+
+    @Test
+    void listsAreValidatedByETagOnlyAndSingleBugsAlsoByDate() throws Exception {
+        User admin = userRepository.findByEmail("admin@bugnest.com").orElseThrow();
+        Project project = new Project();
+        project.setName("Validators");
+        project.setProjectKey("VAL");
+        project.setCreator(admin);
+        projectRepository.save(project);
+        Bug bug = new Bug();
+        bug.setBugId("VAL-1");
+        bug.setTitle("Cached bug");
+        bug.setPriority(BugPriority.MEDIUM);
+        bug.setStatus(BugStatus.OPEN);
+        bug.setProject(project);
+        bug.setCreator(admin);
+        bugRepository.save(bug);
+        String auth = "Bearer " + login("admin@bugnest.com", "admin123");
+
+        String listUrl = "/api/projects/" + project.getId() + "/bugs";
+        String etag = mvc.perform(get(listUrl).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        mvc.perform(get(listUrl).header("Authorization", auth).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+        // A date alone can't vouch for a list
+        mvc.perform(get(listUrl).header("Authorization", auth).header(HttpHeaders.IF_MODIFIED_SINCE, FAR_FUTURE))
+                .andExpect(status().isOk());
+
+        String bugUrl = "/api/bugs/" + bug.getId();
+        mvc.perform(get(bugUrl).header("Authorization", auth))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.LAST_MODIFIED));
+        mvc.perform(get(bugUrl).header("Authorization", auth).header(HttpHeaders.IF_MODIFIED_SINCE, FAR_FUTURE))
+                .andExpect(status().isNotModified());
+    }
+
+    private String login(String email, String password) throws Exception {
+        String login = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return login.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+}
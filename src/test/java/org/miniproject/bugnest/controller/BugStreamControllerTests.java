@@ -0,0 +1,93 @@
+package org.miniproject.bugnest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.ProjectRepository;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * The NDJSON export finishes on an ASYNC dispatch, which the JWT filter does not see again; the
+ * security chain must still let that dispatch through for a request it already authorized.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bug-stream;MODE=PostgreSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.search.rebuild-on-startup=false",
+        "app.bug-counters.reconcile-on-startup=false",
+        "app.snapshots.catch-up-on-startup=false"
+})
+@AutoConfigureMockMvc
+class BugStreamControllerTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private BugRepository bugRepository;
+
+    @Test
+    void authenticatedUserReceivesNdjsonLines() throws Exception {
+        User admin = userRepository.findByEmail("admin@bugnest.com").orElseThrow();
+        Project project = new Project();
+        project.setName("Stream");
+        project.setProjectKey("STR");
+        project.setCreator(admin);
+        projectRepository.save(project);
+        Bug bug = new Bug();
+        bug.setBugId("STR-1");
+        bug.setTitle("Streamed bug");
+        bug.setPriority(BugPriority.MEDIUM);
+        bug.setStatus(BugStatus.OPEN);
+        bug.setProject(project);
+        bug.setCreator(admin);
+        bugRepository.save(bug);
+
+        String login = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"admin@bugnest.com\",\"password\":\"admin123\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        String token = login.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+
+        MvcResult started = mvc.perform(get("/api/bugs/stream").header("Authorization", "Bearer " + token))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        String body = mvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body.split("\n"))
+                .singleElement()
+                .satisfies(line -> assertThat(line).contains("\"bugId\":\"STR-1\"", "\"title\":\"Streamed bug\""));
+    }
+
+    @Test
+    void anonymousRequestIsRejectedBeforeStreaming() throws Exception {
+        mvc.perform(get("/api/bugs/stream"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(request().asyncNotStarted());
+    }
+}
@@ -0,0 +1,60 @@
+package org.miniproject.bugnest.controller;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.webmvc.test.autoconfigure.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:user-controller;MODE=PostgreSQL",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.search.rebuild-on-startup=false",
+        "app.bug-counters.reconcile-on-startup=false",
+        "app.snapshots.catch-up-on-startup=false"
+})
+@AutoConfigureMockMvc
+class UserControllerTests {
+
+    @Autowired
+    private MockMvc mvc;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void statusUpdateDoesNotExposeThePasswordHash() throws Exception {
+        User tester = userRepository.findByEmail("tester@bugnest.com").orElseThrow();
+
+        String body = mvc.perform(put("/api/users/{id}/status", tester.getId())
+                        .param("status", "active")
+                        .header("Authorization", "Bearer " + login("admin@bugnest.com", "admin123")))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.user.email").value("tester@bugnest.com"))
+                .andExpect(jsonPath("$.user.status").value("ACTIVE"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(body).doesNotContain("password").doesNotContain(tester.getPassword());
+    }
+
+    private String login(String email, String password) throws Exception {
+        String login = mvc.perform(post("/api/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"email\":\"" + email + "\",\"password\":\"" + password + "\"}"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return login.replaceAll(".*\"token\":\"([^\"]+)\".*", "$1");
+    }
+}
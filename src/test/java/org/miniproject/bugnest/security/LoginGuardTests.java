@@ -0,0 +1,89 @@
+package org.miniproject.bugnest.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LoginGuardTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private LoginGuard guard;
+
+    @AfterEach
+    void tearDown() {
+        if (guard != null) {
+            guard.shutdown();
+        }
+    }
+
+    @Test
+    void accountBucketRejectsOnceDrained() {
+        guard = guard(1, 4, 100, 2);
+
+        guard.checkRate("10.0.0.1", "dev@test.local");
+        guard.checkRate("10.0.0.2", "DEV@test.local ");
+
+        assertThatThrownBy(() -> guard.checkRate("10.0.0.3", "dev@test.local"))
+                .isInstanceOfSatisfying(ResponseStatusException.class, e -> {
+                    assertThat(e.getStatusCode()).isEqualTo(HttpStatus.TOO_MANY_REQUESTS);
+                    assertThat(e.getHeaders().getFirst("Retry-After")).isNotBlank();
+                });
+        guard.checkRate("10.0.0.3", "qa@test.local");
+        assertThat(registry.counter("bugnest.login.rejected", "reason", "account").count()).isEqualTo(1);
+    }
+
+    @Test
+    void saturatedPoolFailsFastAndErrorsPassThrough() throws Exception {
+        guard = guard(1, 1, 100, 100);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(2);
+        try {
+            // one verification running, one queued
+            callers.submit(() -> guard.verify(() -> {
+                started.countDown();
+                release.await();
+                return "first";
+            }));
+            started.await();
+            callers.submit(() -> guard.verify(() -> "queued"));
+            while (registry.get("bugnest.login.queue.depth").gauge().value() < 1) {
+                Thread.onSpinWait();
+            }
+
+            assertThatThrownBy(() -> guard.verify(() -> "rejected"))
+                    .isInstanceOfSatisfying(ResponseStatusException.class,
+                            e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE));
+        } finally {
+            release.countDown();
+            callers.shutdown();
+            callers.awaitTermination(5, TimeUnit.SECONDS);
+        }
+
+        assertThatThrownBy(() -> guard.verify(() -> {
+            throw new BadCredentialsException("Bad credentials");
+        })).isInstanceOf(BadCredentialsException.class);
+        assertThat(registry.timer("bugnest.login.hash").count()).isGreaterThanOrEqualTo(1);
+    }
+
+    private LoginGuard guard(int threads, int queue, int ipCapacity, int accountCapacity) {
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return new LoginGuard(threads, queue, Duration.ofSeconds(5), ipCapacity, 60, accountCapacity, 1,
+                beans.getBeanProvider(MeterRegistry.class));
+    }
+}
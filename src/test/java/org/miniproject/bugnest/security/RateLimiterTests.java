@@ -0,0 +1,55 @@
+package org.miniproject.bugnest.security;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.config.RateLimitProperties;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTests {
+
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    void firstMatchingRouteClassLimitsEachCallerSeparately() {
+        RateLimiter limiter = limiter(
+                route("ai", "/api/ai/**", List.of(), 2),
+                route("write", "/api/**", List.of("POST"), 100));
+
+        assertThat(limiter.check("POST", "/api/ai/bugs/suggest-priority", "u1").isAllowed()).isTrue();
+        RateLimiter.Decision second = limiter.check("POST", "/api/ai/bugs/suggest-priority", "u1");
+        assertThat(second.isAllowed()).isTrue();
+        assertThat(second.getRemaining()).isZero();
+
+        RateLimiter.Decision third = limiter.check("POST", "/api/ai/bugs/suggest-priority", "u1");
+        assertThat(third.isAllowed()).isFalse();
+        assertThat(third.getRetryAfterSeconds()).isPositive();
+
+        assertThat(limiter.check("POST", "/api/ai/bugs/suggest-priority", "u2").isAllowed()).isTrue();
+        assertThat(limiter.check("POST", "/api/bugs", "u1").isAllowed()).isTrue();
+        assertThat(limiter.check("GET", "/api/bugs", "u1")).isNull();
+        assertThat(registry.counter("bugnest.ratelimit.requests", "route", "ai", "outcome", "limited").count()).isEqualTo(1);
+    }
+
+    private RateLimiter limiter(RateLimitProperties.Route... routes) {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setRoutes(List.of(routes));
+        StaticListableBeanFactory beans = new StaticListableBeanFactory();
+        beans.addBean("meterRegistry", registry);
+        return new RateLimiter(properties, beans.getBeanProvider(MeterRegistry.class));
+    }
+
+    private static RateLimitProperties.Route route(String name, String pattern, List<String> methods, int capacity) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName(name);
+        route.setPattern(pattern);
+        route.setMethods(methods);
+        route.setCapacity(capacity);
+        route.setRefillPerMinute(1);
+        return route;
+    }
+}
@@ -0,0 +1,78 @@
+package org.miniproject.bugnest.security;
+
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.repository.TokenRevocationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.jwtExpirationMs=900000"
+})
+@Import(TokenDenylist.class)
+class TokenDenylistTests {
+
+    @Autowired
+    private TokenDenylist denylist;
+
+    @Autowired
+    private TokenRevocationRepository revocationRepository;
+
+    @Test
+    void revokedTokenIsRejectedAndOthersAreNot() {
+        Date expiry = new Date(System.currentTimeMillis() + 60_000);
+        denylist.revokeToken("jti-1", expiry);
+
+        assertThat(denylist.isRevoked(claims("jti-1", "dev@test.local", new Date()))).isTrue();
+        assertThat(denylist.isRevoked(claims("jti-2", "dev@test.local", new Date()))).isFalse();
+    }
+
+    @Test
+    void userCutoffRejectsOlderTokensAndSurvivesRestart() {
+        Date before = new Date(System.currentTimeMillis() - 5_000);
+        denylist.revokeAllForUser("dev@test.local");
+
+        assertThat(denylist.isRevoked(claims("a", "dev@test.local", before))).isTrue();
+        assertThat(denylist.isRevoked(claims("b", "dev@test.local", new Date(System.currentTimeMillis() + 5_000)))).isFalse();
+        assertThat(denylist.isRevoked(claims("c", "qa@test.local", before))).isFalse();
+
+        TokenDenylist restarted = new TokenDenylist(100, 0.01, 900000);
+        ReflectionTestUtils.setField(restarted, "revocationRepository", revocationRepository);
+        restarted.load();
+        assertThat(restarted.isRevoked(claims("a", "dev@test.local", before))).isTrue();
+    }
+
+    @Test
+    void tokenIssuedLaterInTheSameSecondAsTheCutoffIsAccepted() {
+        long before = System.currentTimeMillis();
+        denylist.revokeAllForUser("dev@test.local");
+        long after = System.currentTimeMillis() + 1;
+
+        // Both tokens share the cutoff's "iat" second at worst; only the millisecond claim tells them apart
+        assertThat(denylist.isRevoked(claims("old", "dev@test.local", new Date(before)))).isTrue();
+        assertThat(denylist.isRevoked(claims("new", "dev@test.local", new Date(after)))).isFalse();
+
+        // Without the millisecond claim the floored "iat" errs towards rejecting
+        Claims legacy = Jwts.claims();
+        legacy.setSubject("dev@test.local");
+        legacy.setIssuedAt(new Date(before / 1000 * 1000));
+        assertThat(denylist.isRevoked(legacy)).isTrue();
+    }
+
+    private static Claims claims(String jti, String subject, Date issuedAt) {
+        Claims claims = Jwts.claims();
+        claims.setId(jti);
+        claims.setSubject(subject);
+        claims.setIssuedAt(issuedAt);
+        claims.put(JwtUtils.ISSUED_AT_MS_CLAIM, issuedAt.getTime());
+        return claims;
+    }
+}
@@ -0,0 +1,145 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.dto.ProjectMetricsResponse;
+import org.miniproject.bugnest.dto.UserMetricsResponse;
+import org.miniproject.bugnest.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(AdminReportService.class)
+class AdminReportServiceTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private AdminReportService adminReportService;
+
+    private User manager;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        manager = user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+        developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+    }
+
+    @Test
+    void projectMetricsAreAggregatedPerProject() {
+        Project alpha = project("Alpha", "ALP", "ACTIVE");
+        Project beta = project("Beta", "BET", null);
+        project("Gone", "GON", "deleted");
+        member(em, alpha, manager, Role.PROJECT_MANAGER);
+        member(em, alpha, developer, Role.DEVELOPER);
+        member(em, beta, developer, Role.DEVELOPER, ProjectMemberStatus.PENDING);
+
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        bug(alpha, 1, BugStatus.OPEN, BugSeverity.CRITICAL, null, yesterday);
+        bug(alpha, 2, BugStatus.IN_PROGRESS, BugSeverity.MINOR, developer, null);
+        bug(alpha, 3, BugStatus.CLOSED, BugSeverity.BLOCKER, developer, yesterday);
+        em.flush();
+
+        List<ProjectMetricsResponse> metrics = adminReportService.getProjectMetrics();
+
+        assertThat(metrics).extracting(ProjectMetricsResponse::getProjectName).containsExactly("Alpha", "Beta");
+        ProjectMetricsResponse a = metrics.get(0);
+        assertThat(a.getCreatorName()).isEqualTo("Manager");
+        assertThat(a.getMemberCount()).isEqualTo(2);
+        assertThat(a.getTotalBugs()).isEqualTo(3);
+        assertThat(a.getOpenBugs()).isEqualTo(2);
+        assertThat(a.getClosedBugs()).isEqualTo(1);
+        assertThat(a.getUnassignedOpenBugs()).isEqualTo(1);
+        assertThat(a.getOverdueOpenBugs()).isEqualTo(1);
+        assertThat(a.getCriticalOpenBugs()).isEqualTo(1);
+        assertThat(a.getLastActivityAt()).isNotNull();
+
+        ProjectMetricsResponse b = metrics.get(1);
+        assertThat(b.getStatus()).isEqualTo("ACTIVE");
+        assertThat(b.getMemberCount()).isZero();
+        assertThat(b.getTotalBugs()).isZero();
+        assertThat(b.getLastActivityAt()).isNull();
+    }
+
+    @Test
+    void userMetricsArePagedAndSortedInSql() {
+        user(em, "anna", "qa@test.local", Role.TESTER);
+        Project alpha = project("Alpha", "ALP", "ACTIVE");
+        LocalDate yesterday = LocalDate.now().minusDays(1);
+        bug(alpha, 1, BugStatus.OPEN, BugSeverity.MINOR, developer, yesterday);
+        bug(alpha, 2, BugStatus.IN_PROGRESS, BugSeverity.MINOR, developer, null);
+        bug(alpha, 3, BugStatus.CLOSED, BugSeverity.MINOR, developer, yesterday);
+        em.flush();
+
+        Page<UserMetricsResponse> byName = adminReportService.getUserMetrics(PageRequest.of(0, 2, Sort.by("name")));
+        assertThat(byName.getTotalElements()).isEqualTo(3);
+        assertThat(byName.getContent()).extracting(UserMetricsResponse::getName).containsExactly("anna", "Developer");
+        assertThat(adminReportService.getUserMetrics(PageRequest.of(1, 2, Sort.by("name"))).getContent())
+                .extracting(UserMetricsResponse::getUserId).containsExactly(manager.getId());
+
+        UserMetricsResponse top = adminReportService
+                .getUserMetrics(PageRequest.of(0, 1, Sort.by(Sort.Direction.DESC, "assignedOpenBugs")))
+                .getContent().get(0);
+        assertThat(top.getUserId()).isEqualTo(developer.getId());
+        assertThat(top.getRole()).isEqualTo("DEVELOPER");
+        assertThat(top.getAssignedOpenBugs()).isEqualTo(2);
+        assertThat(top.getAssignedClosedBugs()).isEqualTo(1);
+        assertThat(top.getAssignedOverdueOpenBugs()).isEqualTo(1);
+        assertThat(top.getCreatedBugs()).isZero();
+
+        assertThatThrownBy(() -> adminReportService.getUserMetrics(PageRequest.of(0, 10, Sort.by("password"))))
+                .isExactlyInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Unsupported sort property: password");
+    }
+
+    @Test
+    void userCsvIsStreamedWithEscapedFields() throws IOException {
+        User quoted = user(em, "Doe, \"JD\"", "jd@test.local", Role.TESTER);
+        Project alpha = project("Alpha", "ALP", "ACTIVE");
+        bug(alpha, 1, BugStatus.CLOSED, BugSeverity.MINOR, developer, null);
+        em.flush();
+
+        StringWriter out = new StringWriter();
+        adminReportService.writeUserMetricsCsv(out);
+
+        assertThat(out.toString().split("\n")).containsExactly(
+                "userId,name,email,role,status,createdBugs,assignedOpenBugs,assignedClosedBugs,assignedOverdueOpenBugs",
+                developer.getId() + ",Developer,dev@test.local,DEVELOPER,ACTIVE,0,0,1,0",
+                quoted.getId() + ",\"Doe, \"\"JD\"\"\",jd@test.local,TESTER,ACTIVE,0,0,0,0",
+                manager.getId() + ",Manager,pm@test.local,PROJECT_MANAGER,ACTIVE,1,0,0,0");
+    }
+
+    private Project project(String name, String key, String status) {
+        Project p = new Project();
+        p.setName(name);
+        p.setProjectKey(key);
+        p.setCreator(manager);
+        p.setStatus(status);
+        return em.persist(p);
+    }
+
+    private void bug(Project project, int n, BugStatus status, BugSeverity severity, User assignee, LocalDate dueDate) {
+        Bug bug = TestFixtures.bug(project, manager, n, status);
+        bug.setSeverity(severity);
+        bug.setAssignee(assignee);
+        bug.setDueDate(dueDate);
+        em.persist(bug);
+    }
+}
@@ -0,0 +1,92 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugCounterTotals;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.transaction.TestTransaction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.project;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+/**
+ * Counter deltas are only applied when the surrounding transaction commits, so this test commits
+ * explicitly. The extra property gives the class its own context and therefore its own database.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.bug-counters.test-context=isolated"})
+@Import(BugCounterService.class)
+class BugCounterServiceTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugCounterService bugCounterService;
+
+    @Test
+    void countersFollowCommittedChangesAndReconcileRepairsDrift() {
+        User manager = user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+        User developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+        Project project = project(em, manager, "Counters", "CNT");
+        member(em, project, manager, Role.PROJECT_MANAGER);
+        member(em, project, developer, Role.DEVELOPER);
+        bug(project, manager, 1, BugStatus.OPEN, null);
+        Bug inProgress = bug(project, manager, 2, BugStatus.IN_PROGRESS, developer);
+        bug(project, manager, 3, BugStatus.CLOSED, developer);
+        em.flush();
+
+        // first run fills the empty table
+        assertThat(bugCounterService.reconcile()).isEqualTo(3);
+        commit();
+        assertTotals(bugCounterService.totalsForMember(developer.getId()), 2, 1, 2);
+
+        // a rolled back change leaves the counters alone
+        bugCounterService.moved(project.getId(), developer.getId(), BugStatus.IN_PROGRESS, null, BugStatus.CLOSED);
+        TestTransaction.flagForRollback();
+        TestTransaction.end();
+        TestTransaction.start();
+        assertTotals(bugCounterService.totalsForMember(developer.getId()), 2, 1, 2);
+
+        jdbcTemplate.update("UPDATE bugs SET status = 'CLOSED', assignee_id = NULL WHERE id = ?", inProgress.getId());
+        bugCounterService.moved(project.getId(), developer.getId(), BugStatus.IN_PROGRESS, null, BugStatus.CLOSED);
+        commit();
+        assertTotals(bugCounterService.totalsForMember(developer.getId()), 1, 2, 1);
+        assertTotals(bugCounterService.totalsForAll(), 1, 2, 1);
+        assertThat(bugCounterService.reconcile()).isZero();
+
+        jdbcTemplate.update("UPDATE bug_counters SET bug_count = 7 WHERE status = 'OPEN'");
+        commit();
+        assertThat(bugCounterService.reconcile()).isEqualTo(1);
+        commit();
+        assertTotals(bugCounterService.totalsForAll(), 1, 2, 1);
+    }
+
+    private void commit() {
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        TestTransaction.start();
+    }
+
+    private static void assertTotals(BugCounterTotals totals, long open, long closed, long assigned) {
+        assertThat(totals.getOpen()).isEqualTo(open);
+        assertThat(totals.getClosed()).isEqualTo(closed);
+        assertThat(totals.getAssigned()).isEqualTo(assigned);
+    }
+
+    private Bug bug(Project project, User creator, int n, BugStatus status, User assignee) {
+        Bug bug = TestFixtures.bug(project, creator, n, status);
+        bug.setAssignee(assignee);
+        return em.persist(bug);
+    }
+}
@@ -0,0 +1,109 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.miniproject.bugnest.dto.BugFacetsResponse;
+import org.miniproject.bugnest.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.project;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+/**
+ * Facet counts come from one native GROUPING SETS query, which H2 cannot parse, so this runs against
+ * PostgreSQL only: set BUGNEST_TEST_DB_URL (plus BUGNEST_DB_USER / BUGNEST_DB_PASSWORD) to a scratch
+ * database. Each test rolls back.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@EnabledIfEnvironmentVariable(named = "BUGNEST_TEST_DB_URL", matches = ".+")
+@Import({BugService.class, NotificationService.class, BugSearchService.class, BugNumberAllocator.class, ProjectMembershipCache.class, UserCache.class, BugCounterService.class})
+class BugFacetsTests {
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("BUGNEST_TEST_DB_URL"));
+    }
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BugService bugService;
+
+    private User admin;
+    private User developer;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        admin = user(em, "Admin", "admin@test.local", Role.ADMIN);
+        developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+        project = project(em, admin, "Facets", "FAC");
+        member(em, project, developer, Role.DEVELOPER);
+
+        // Two bugs carry two tags each, so the tag join fans them out to two rows apiece
+        bug(1, BugStatus.OPEN, BugSeverity.CRITICAL, BugPriority.HIGH, developer, "ui", "api");
+        bug(2, BugStatus.OPEN, BugSeverity.MINOR, BugPriority.LOW, developer, "ui", "login");
+        bug(3, BugStatus.CLOSED, BugSeverity.MINOR, BugPriority.LOW, null, "api");
+        bug(4, BugStatus.IN_PROGRESS, null, BugPriority.MEDIUM, null);
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void everyFacetCountsDistinctBugs() {
+        BugFacetsResponse facets = bugService.getBugFacets(admin, project.getId(), null, false, null, null);
+
+        assertThat(facets.getTotal()).isEqualTo(4);
+        assertThat(facets.getStatus()).containsExactly(
+                Map.entry("OPEN", 2L), Map.entry("IN_PROGRESS", 1L), Map.entry("REVIEW", 0L),
+                Map.entry("TESTING", 0L), Map.entry("CLOSED", 1L));
+        // the bug without a severity is counted as MINOR
+        assertThat(facets.getSeverity()).containsEntry("MINOR", 3L).containsEntry("CRITICAL", 1L).containsEntry("MAJOR", 0L);
+        assertThat(facets.getPriority()).containsEntry("LOW", 2L).containsEntry("HIGH", 1L).containsEntry("MEDIUM", 1L);
+        assertThat(facets.getTags()).containsOnly(Map.entry("ui", 2L), Map.entry("api", 2L), Map.entry("login", 1L));
+        assertThat(facets.getAssignees())
+                .extracting(a -> a.getAssigneeName() + "=" + a.getCount())
+                .containsExactlyInAnyOrder("Developer=2", "Unassigned=2");
+    }
+
+    @Test
+    void filtersNarrowTheScopeOfEveryFacet() {
+        BugFacetsResponse allOf = bugService.getBugFacets(admin, project.getId(), "ui,api", true, null, null);
+        assertThat(allOf.getTotal()).isEqualTo(1);
+        assertThat(allOf.getTags()).containsOnly(Map.entry("ui", 1L), Map.entry("api", 1L));
+
+        BugFacetsResponse anyOf = bugService.getBugFacets(admin, project.getId(), "login,api", false, null, null);
+        assertThat(anyOf.getTotal()).isEqualTo(3);
+        assertThat(anyOf.getStatus()).containsEntry("OPEN", 2L).containsEntry("CLOSED", 1L);
+
+        // Developers only count bugs assigned to them
+        BugFacetsResponse mine = bugService.getBugFacets(developer, null, null, false, null, null);
+        assertThat(mine.getTotal()).isEqualTo(2);
+        assertThat(mine.getTags()).containsOnly(Map.entry("ui", 2L), Map.entry("api", 1L), Map.entry("login", 1L));
+    }
+
+    private void bug(int n, BugStatus status, BugSeverity severity, BugPriority priority, User assignee, String... tags) {
+        Bug bug = TestFixtures.bug(project, admin, n, status);
+        bug.setSeverity(severity);
+        bug.setPriority(priority);
+        bug.setAssignee(assignee);
+        bug.setTags(tags.length > 0 ? String.join(",", tags) : null);
+        em.persist(bug);
+        for (String tag : tags) {
+            em.persist(new BugTag(bug, tag));
+        }
+    }
+}
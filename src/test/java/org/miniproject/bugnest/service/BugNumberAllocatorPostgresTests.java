@@ -0,0 +1,99 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.miniproject.bugnest.dto.BugCreateRequest;
+import org.miniproject.bugnest.model.Bug;
+import org.miniproject.bugnest.model.Project;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.ProjectRepository;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Parallel createBug calls against a real PostgreSQL (UPDATE ... RETURNING does not run on H2).
+ * Set BUGNEST_TEST_DB_URL (plus BUGNEST_DB_USER / BUGNEST_DB_PASSWORD) to a scratch database to run it.
+ */
+@SpringBootTest(properties = {
+        "app.search.rebuild-on-startup=false",
+        "app.bug-counters.reconcile-on-startup=false",
+        "app.snapshots.catch-up-on-startup=false"
+})
+@EnabledIfEnvironmentVariable(named = "BUGNEST_TEST_DB_URL", matches = ".+")
+class BugNumberAllocatorPostgresTests {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 10;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv("BUGNEST_TEST_DB_URL"));
+    }
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private ProjectRepository projectRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Test
+    void parallelCreatesGetDistinctConsecutiveNumbers() throws Exception {
+        User admin = userRepository.findByEmail("admin@bugnest.com").orElseThrow();
+        Project project = new Project();
+        project.setName("Allocator " + System.nanoTime());
+        project.setProjectKey("AL" + Long.toString(System.nanoTime() % 100_000, 36).toUpperCase());
+        project.setCreator(admin);
+        projectRepository.save(project);
+
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<String> bugIds = new ArrayList<>();
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<String> mine = new ArrayList<>();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        BugCreateRequest request = new BugCreateRequest();
+                        request.setProjectId(project.getId());
+                        request.setTitle("Parallel bug");
+                        request.setPriority("MEDIUM");
+                        Bug bug = bugService.createBug(request, admin);
+                        mine.add(bug.getBugId());
+                    }
+                    return mine;
+                }));
+            }
+            start.countDown();
+            for (Future<List<String>> f : futures) {
+                bugIds.addAll(f.get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertThat(bugIds).doesNotHaveDuplicates();
+        // Block size 1 by default: no gaps either
+        assertThat(bugIds).containsExactlyInAnyOrderElementsOf(IntStream.rangeClosed(1, THREADS * PER_THREAD)
+                .mapToObj(n -> project.getProjectKey() + "-" + n)
+                .collect(Collectors.toList()));
+    }
+}
@@ -0,0 +1,106 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Parallel allocation against a stand-in for projects.bug_seq that behaves like the row-locked
+ * UPDATE ... RETURNING (atomic add-and-read per project). The real statement is PostgreSQL-only.
+ */
+class BugNumberAllocatorTests {
+
+    private static final int THREADS = 8;
+    private static final int PER_THREAD = 50;
+
+    private final Map<Long, Long> bugSeq = new ConcurrentHashMap<>();
+    private final JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+
+    @Test
+    void parallelCreatesNeverShareANumberWithSingleReservations() throws Exception {
+        List<Long> numbers = allocateInParallel(allocator(1), 1L);
+
+        assertThat(numbers).doesNotHaveDuplicates();
+        assertThat(numbers).containsExactlyInAnyOrderElementsOf(
+                LongStream.rangeClosed(1, THREADS * PER_THREAD).boxed().collect(Collectors.toList()));
+    }
+
+    @Test
+    void blockReservationsAreUniqueAcrossProjectsAndRestarts() throws Exception {
+        BugNumberAllocator first = allocator(7);
+        List<Long> projectOne = allocateInParallel(first, 1L);
+        List<Long> projectTwo = allocateInParallel(first, 2L);
+        assertThat(projectOne).doesNotHaveDuplicates().allMatch(n -> n >= 1 && n <= bugSeq.get(1L));
+        assertThat(projectTwo).doesNotHaveDuplicates().allMatch(n -> n >= 1 && n <= bugSeq.get(2L));
+
+        // A new instance (another node, or after a restart) starts past everything the first reserved
+        long reserved = bugSeq.get(1L);
+        BugNumberAllocator second = allocator(7);
+        Set<Long> seen = new HashSet<>(projectOne);
+        long next = second.next(1L);
+        assertThat(next).isEqualTo(reserved + 1);
+        assertThat(seen).doesNotContain(next);
+    }
+
+    private BugNumberAllocator allocator(int blockSize) {
+        when(jdbcTemplate.queryForObject(anyString(), eq(Long.class), any(), any())).thenAnswer(inv -> {
+            long block = ((Number) inv.getArgument(2)).longValue();
+            Long projectId = inv.getArgument(3);
+            Thread.sleep(1); // widen the window between reservation and hand-out
+            return bugSeq.merge(projectId, block, Long::sum);
+        });
+        BugNumberAllocator allocator = new BugNumberAllocator();
+        ReflectionTestUtils.setField(allocator, "jdbcTemplate", jdbcTemplate);
+        ReflectionTestUtils.setField(allocator, "transactionManager", mock(PlatformTransactionManager.class));
+        ReflectionTestUtils.setField(allocator, "blockSize", blockSize);
+        allocator.init();
+        return allocator;
+    }
+
+    private static List<Long> allocateInParallel(BugNumberAllocator allocator, Long projectId) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<List<Long>>> futures = new ArrayList<>();
+            for (int t = 0; t < THREADS; t++) {
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    List<Long> mine = new ArrayList<>();
+                    for (int i = 0; i < PER_THREAD; i++) {
+                        mine.add(allocator.next(projectId));
+                    }
+                    return mine;
+                }));
+            }
+            start.countDown();
+            List<Long> all = new ArrayList<>();
+            for (Future<List<Long>> f : futures) {
+                all.addAll(f.get());
+            }
+            return all;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
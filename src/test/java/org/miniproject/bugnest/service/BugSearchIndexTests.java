@@ -0,0 +1,39 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BugSearchIndexTests {
+
+    @Test
+    void matchesAllTermsAcrossFieldsAndComments() {
+        BugSearchIndex index = new BugSearchIndex();
+        index.upsert(1, 10, null, "Login button broken", "Clicking does nothing", "ui,auth");
+        index.upsert(2, 10, null, "Crash on login", "NullPointerException in session", "backend");
+        index.upsert(3, 20, null, "Typo in footer", null, "ui");
+        index.addComment(3, "Also breaks the login page layout");
+
+        assertThat(index.search("login", doc -> true, 10)).containsExactly(3L, 2L, 1L);
+        assertThat(index.search("LOGIN ui", doc -> true, 10)).containsExactly(3L, 1L);
+        assertThat(index.search("login", doc -> doc.getProjectId() == 10, 1)).containsExactly(2L);
+        assertThat(index.search("missing", doc -> true, 10)).isEmpty();
+    }
+
+    @Test
+    void reindexReplacesFieldTermsButKeepsCommentTerms() {
+        BugSearchIndex index = new BugSearchIndex();
+        index.upsert(1, 10, 5L, "Old title", null, null);
+        index.addComment(1, "reproduced on staging");
+        index.upsert(1, 10, 6L, "New title", null, null);
+
+        assertThat(index.search("old", doc -> true, 10)).isEmpty();
+        assertThat(index.search("new staging", doc -> true, 10)).containsExactly(1L);
+        assertThat(index.search("title", doc -> doc.getAssigneeId() == 6L, 10)).isEqualTo(List.of(1L));
+
+        index.remove(1);
+        assertThat(index.search("title", doc -> true, 10)).isEmpty();
+    }
+}
@@ -0,0 +1,92 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.Bug;
+import org.miniproject.bugnest.model.Project;
+import org.miniproject.bugnest.model.Role;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.BugCommentRepository;
+import org.miniproject.bugnest.repository.BugCommentSearchSource;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.BugSearchSource;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BugSearchServiceTests {
+
+    private final BugRepository bugRepository = mock(BugRepository.class);
+    private final BugCommentRepository commentRepository = mock(BugCommentRepository.class);
+    private final BugSearchService service = new BugSearchService();
+    private final User admin = new User();
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "bugRepository", bugRepository);
+        ReflectionTestUtils.setField(service, "bugCommentRepository", commentRepository);
+        ReflectionTestUtils.setField(service, "transactionManager", mock(PlatformTransactionManager.class));
+        admin.setRole(Role.ADMIN);
+    }
+
+    @Test
+    void updateCommittedDuringRebuildIsNotOverwrittenBySnapshot() {
+        // The snapshot still holds bug 1's old title; the edit commits after the query started
+        when(bugRepository.streamSearchSources()).thenReturn(Stream.of(1L, 2L).flatMap(id -> {
+            if (id == 1L) {
+                service.indexBug(bug(1L, "Renamed crash report"));
+                return Stream.of(source(1L, "Original crash report"));
+            }
+            return Stream.of(source(2L, "Slow dashboard"));
+        }));
+        Stream<BugCommentSearchSource> comments = Stream.of(comment(1L, "seen on staging"), comment(2L, "staging too"));
+        when(commentRepository.streamSearchSources()).thenReturn(comments);
+
+        service.rebuild();
+
+        assertThat(service.isReady()).isTrue();
+        assertThat(service.searchIds(admin, "renamed", null, 10)).containsExactly(1L);
+        assertThat(service.searchIds(admin, "original", null, 10)).isEmpty();
+        assertThat(service.searchIds(admin, "staging", null, 10)).containsExactly(2L, 1L);
+    }
+
+    @Test
+    void failedRebuildKeepsServingTheOldIndex() {
+        service.indexBug(bug(7L, "Export times out"));
+        when(bugRepository.streamSearchSources()).thenThrow(new IllegalStateException("connection lost"));
+
+        service.rebuild();
+
+        assertThat(service.searchIds(admin, "export", null, 10)).containsExactly(7L);
+    }
+
+    private static Bug bug(long id, String title) {
+        Project project = new Project();
+        project.setId(10L);
+        Bug bug = new Bug();
+        bug.setId(id);
+        bug.setTitle(title);
+        bug.setProject(project);
+        return bug;
+    }
+
+    private static BugSearchSource source(long id, String title) {
+        BugSearchSource source = mock(BugSearchSource.class);
+        when(source.getId()).thenReturn(id);
+        when(source.getProjectId()).thenReturn(10L);
+        when(source.getTitle()).thenReturn(title);
+        return source;
+    }
+
+    private static BugCommentSearchSource comment(long bugId, String message) {
+        BugCommentSearchSource comment = mock(BugCommentSearchSource.class);
+        when(comment.getBugId()).thenReturn(bugId);
+        when(comment.getMessage()).thenReturn(message);
+        return comment;
+    }
+}
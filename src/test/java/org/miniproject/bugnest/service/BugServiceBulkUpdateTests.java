@@ -0,0 +1,161 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.dto.BugBulkUpdateRequest;
+import org.miniproject.bugnest.dto.BugCreateRequest;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugActivityRepository;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.NotificationRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.miniproject.bugnest.service.TestFixtures.bug;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.project;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BugService.class, NotificationService.class, BugSearchService.class, BugNumberAllocator.class, ProjectMembershipCache.class, UserCache.class, BugCounterService.class})
+class BugServiceBulkUpdateTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepository bugRepository;
+
+    @Autowired
+    private BugActivityRepository bugActivityRepository;
+
+    @Autowired
+    private NotificationRepository notificationRepository;
+
+    private Project project;
+    private User manager;
+    private User developer;
+    private User tester;
+    private final List<Long> bugIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        manager = user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+        developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+        tester = user(em, "Tester", "qa@test.local", Role.TESTER);
+
+        project = project(em, manager, "Bulk", "BLK");
+
+        member(em, project, manager, Role.PROJECT_MANAGER);
+        member(em, project, developer, Role.DEVELOPER);
+        member(em, project, tester, Role.TESTER);
+
+        for (int i = 1; i <= 4; i++) {
+            bugIds.add(em.persist(bug(project, tester, i, BugStatus.OPEN)).getId());
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void managerReassignsAndRestatusesWithOneNotificationPerRecipient() {
+        BugBulkUpdateRequest request = new BugBulkUpdateRequest();
+        request.setBugIds(bugIds);
+        request.setStatus("in_progress");
+        request.setAssigneeId(developer.getId());
+        request.setTags(List.of("Triage", "ui"));
+
+        assertThat(bugService.bulkUpdate(request, manager)).isEqualTo(4);
+        em.clear();
+
+        assertThat(bugRepository.findAllById(bugIds)).allSatisfy(b -> {
+            assertThat(b.getStatus()).isEqualTo(BugStatus.IN_PROGRESS);
+            assertThat(b.getAssignee().getId()).isEqualTo(developer.getId());
+            assertThat(b.getTags()).isEqualTo("triage,ui");
+        });
+        // status, assignment and field changes are each recorded per bug
+        assertThat(bugActivityRepository.findAll()).hasSize(12)
+                .filteredOn(a -> a.getAction().equals("STATUS_CHANGED"))
+                .hasSize(4)
+                .allSatisfy(a -> {
+                    assertThat(a.getFromStatus()).isEqualTo(BugStatus.OPEN);
+                    assertThat(a.getToStatus()).isEqualTo(BugStatus.IN_PROGRESS);
+                });
+        assertThat(notificationRepository.findByUserOrderByCreatedAtDesc(developer))
+                .singleElement()
+                .satisfies(n -> assertThat(n.getType()).isEqualTo("BUG_ASSIGNED"));
+        assertThat(notificationRepository.findByUserOrderByCreatedAtDesc(tester)).hasSize(1);
+        assertThat(notificationRepository.findByUserOrderByCreatedAtDesc(manager)).isEmpty();
+    }
+
+    @Test
+    void assignedAndStatusOnlyBugsAreAnnouncedSeparately() {
+        // The developer already owns the first two bugs, so only the last two are new assignments
+        for (Bug bug : bugRepository.findAllById(bugIds.subList(0, 2))) {
+            bug.setAssignee(developer);
+        }
+        em.flush();
+        em.clear();
+
+        BugBulkUpdateRequest request = new BugBulkUpdateRequest();
+        request.setBugIds(bugIds);
+        request.setStatus("in_progress");
+        request.setAssigneeId(developer.getId());
+
+        bugService.bulkUpdate(request, manager);
+        em.clear();
+
+        assertThat(notificationRepository.findByUserOrderByCreatedAtDesc(developer))
+                .extracting(n -> n.getType() + ": " + n.getMessage())
+                .containsExactlyInAnyOrder(
+                        "BUG_ASSIGNED: Manager assigned you 2 bugs: BLK-3, BLK-4",
+                        "BUG_STATUS: Manager updated 2 bugs: BLK-1, BLK-2");
+    }
+
+    @Test
+    void editingTheStatusRecordsAStatusChange() {
+        BugCreateRequest request = new BugCreateRequest();
+        request.setTitle("Bug 1, retitled");
+        request.setStatus("review");
+        bugService.updateBug(bugIds.get(0), request, manager);
+        em.flush();
+        em.clear();
+
+        assertThat(bugActivityRepository.findAll())
+                .filteredOn(a -> a.getAction().equals("STATUS_CHANGED"))
+                .singleElement()
+                .satisfies(a -> {
+                    assertThat(a.getMessage()).isEqualTo("Manager changed status from OPEN to REVIEW");
+                    assertThat(a.getFromStatus()).isEqualTo(BugStatus.OPEN);
+                    assertThat(a.getToStatus()).isEqualTo(BugStatus.REVIEW);
+                });
+
+        // Re-saving the same status is not a change
+        request.setTitle("Bug 1, retitled again");
+        bugService.updateBug(bugIds.get(0), request, manager);
+        em.flush();
+        assertThat(bugActivityRepository.findAll()).filteredOn(a -> a.getAction().equals("STATUS_CHANGED")).hasSize(1);
+    }
+
+    @Test
+    void rejectsWholeRequestWhenAnyBugIsNotVisible() {
+        BugBulkUpdateRequest request = new BugBulkUpdateRequest();
+        request.setBugIds(bugIds);
+        request.setStatus("REVIEW");
+
+        // nothing is assigned to the developer yet
+        assertThatThrownBy(() -> bugService.bulkUpdate(request, developer))
+                .hasMessageStartingWith("Bugs not found or not accessible");
+        assertThat(bugActivityRepository.findAll()).isEmpty();
+    }
+}
@@ -0,0 +1,139 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.dto.BugSummaryResponse;
+import org.miniproject.bugnest.dto.PagedResponse;
+import org.miniproject.bugnest.model.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BugService.class, NotificationService.class, BugSearchService.class, BugNumberAllocator.class, ProjectMembershipCache.class, UserCache.class, BugCounterService.class})
+class BugServiceCursorTests {
+
+    private static final LocalDateTime T1 = LocalDateTime.of(2026, 3, 1, 10, 0);
+    private static final LocalDateTime T2 = T1.plusHours(1);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugService bugService;
+
+    private User admin;
+    private Project project;
+    // Ids in the order the keyset walks them ascending: (updatedAt, id)
+    private final List<Long> expectedAsc = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@test.local");
+        admin.setPassword("x");
+        admin.setRole(Role.ADMIN);
+        admin.setStatus(Status.ACTIVE);
+        em.persist(admin);
+
+        project = new Project();
+        project.setName("Cursor");
+        project.setProjectKey("CUR");
+        project.setCreator(admin);
+        em.persist(project);
+
+        // Five bugs share T1 and two share T2, so most page boundaries fall inside a tie on updatedAt
+        List<Long> atT1 = new ArrayList<>();
+        List<Long> atT2 = new ArrayList<>();
+        for (int i = 1; i <= 7; i++) {
+            Bug bug = new Bug();
+            bug.setBugId("CUR-" + i);
+            bug.setTitle("Bug " + i);
+            bug.setPriority(BugPriority.MEDIUM);
+            bug.setStatus(BugStatus.OPEN);
+            bug.setProject(project);
+            bug.setCreator(admin);
+            em.persistAndFlush(bug);
+            // updated_at is set by @PrePersist, so pin it directly; the later rows get the earlier time
+            LocalDateTime at = i <= 2 ? T2 : T1;
+            jdbcTemplate.update("UPDATE bugs SET updated_at = ? WHERE id = ?", Timestamp.valueOf(at), bug.getId());
+            (i <= 2 ? atT2 : atT1).add(bug.getId());
+        }
+        expectedAsc.addAll(atT1);
+        expectedAsc.addAll(atT2);
+        em.clear();
+    }
+
+    @Test
+    void pagesWalkEveryRowOnceAndBreakTiesById() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = "";
+        int pages = 0;
+        do {
+            PagedResponse<BugSummaryResponse> page = page(cursor, 3, Sort.Direction.ASC, pages == 0);
+            if (pages == 0) {
+                assertThat(page.getTotalElements()).isEqualTo(7);
+            } else {
+                assertThat(page.getTotalElements()).isNull();
+            }
+            page.getContent().forEach(b -> seen.add(b.getId()));
+            cursor = page.getNextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(seen).containsExactlyElementsOf(expectedAsc);
+    }
+
+    @Test
+    void descendingWalkIsTheReverseOrder() {
+        PagedResponse<BugSummaryResponse> first = page("", 4, Sort.Direction.DESC, false);
+        PagedResponse<BugSummaryResponse> second = page(first.getNextCursor(), 4, Sort.Direction.DESC, false);
+
+        List<Long> seen = new ArrayList<>();
+        first.getContent().forEach(b -> seen.add(b.getId()));
+        second.getContent().forEach(b -> seen.add(b.getId()));
+        List<Long> expectedDesc = new ArrayList<>(expectedAsc);
+        Collections.reverse(expectedDesc);
+        assertThat(seen).containsExactlyElementsOf(expectedDesc);
+        assertThat(second.getNextCursor()).isNull();
+    }
+
+    @Test
+    void exactlyFullLastPageHasNoNextCursor() {
+        PagedResponse<BugSummaryResponse> all = page("", 7, Sort.Direction.ASC, false);
+
+        assertThat(all.getContent()).hasSize(7);
+        assertThat(all.getNextCursor()).isNull();
+    }
+
+    @Test
+    void malformedCursorIsABadRequest() {
+        assertThatThrownBy(() -> page("not-a-cursor", 3, Sort.Direction.ASC, false))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.BAD_REQUEST));
+    }
+
+    private PagedResponse<BugSummaryResponse> page(String cursor, int size, Sort.Direction direction, boolean includeTotal) {
+        return bugService.getBugSummariesAfterCursor(admin, project.getId(), null, false, null, null,
+                cursor, size, direction, includeTotal);
+    }
+}
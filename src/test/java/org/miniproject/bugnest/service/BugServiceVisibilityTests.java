@@ -0,0 +1,194 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.dto.BugResponse;
+import org.miniproject.bugnest.dto.BugSummaryResponse;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugVersion;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.miniproject.bugnest.service.TestFixtures.bug;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.project;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+/**
+ * Regression test: developer/tester visibility must be applied in SQL, so the database
+ * only returns the caller's assigned bugs instead of the whole project.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BugService.class, NotificationService.class, BugSearchService.class, BugNumberAllocator.class, ProjectMembershipCache.class, UserCache.class, BugCounterService.class, BugServiceVisibilityTests.RowCounting.class})
+class BugServiceVisibilityTests {
+
+    private static final int PROJECT_BUGS = 40;
+    private static final int ASSIGNED_TO_DEVELOPER = 3;
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private BugService bugService;
+
+    private Project project;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        User manager = user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+        developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+        User otherDeveloper = user(em, "Other", "other@test.local", Role.DEVELOPER);
+
+        project = project(em, manager, "Visibility", "VIS");
+
+        member(em, project, manager, Role.PROJECT_MANAGER);
+        member(em, project, developer, Role.DEVELOPER);
+        member(em, project, otherDeveloper, Role.DEVELOPER);
+
+        for (int i = 1; i <= PROJECT_BUGS; i++) {
+            Bug bug = bug(project, manager, i, BugStatus.OPEN);
+            bug.setAssignee(i <= ASSIGNED_TO_DEVELOPER ? developer : otherDeveloper);
+            em.persist(bug);
+        }
+
+        em.flush();
+        em.clear();
+        RowCounting.bugRows.set(0);
+    }
+
+    @Test
+    void projectBugsForDeveloperFetchOnlyAssignedRows() {
+        List<BugResponse> bugs = bugService.getBugsByProject(project.getId(), developer);
+
+        assertThat(bugs).hasSize(ASSIGNED_TO_DEVELOPER);
+        assertThat(bugs).allMatch(b -> developer.getId().equals(b.getAssigneeId()));
+        assertThat(RowCounting.bugRows.get()).isEqualTo(ASSIGNED_TO_DEVELOPER);
+    }
+
+    @Test
+    void allBugsForDeveloperFetchOnlyAssignedRows() {
+        List<BugResponse> bugs = bugService.getAllBugsForUser(developer);
+
+        assertThat(bugs).hasSize(ASSIGNED_TO_DEVELOPER);
+        assertThat(RowCounting.bugRows.get()).isEqualTo(ASSIGNED_TO_DEVELOPER);
+    }
+
+    @Test
+    void projectSummariesUseTheSameVisibilityAsFullRows() {
+        List<BugSummaryResponse> summaries = bugService.getBugSummariesByProject(project.getId(), developer);
+
+        assertThat(summaries).hasSize(ASSIGNED_TO_DEVELOPER);
+        assertThat(RowCounting.bugRows.get()).isEqualTo(ASSIGNED_TO_DEVELOPER);
+    }
+
+    @Test
+    void versionsAreOnlyIssuedForVisibleBugs() {
+        List<BugResponse> mine = bugService.getBugsByProject(project.getId(), developer);
+        Long visibleId = mine.get(0).getId();
+        Long hiddenId = visibleId + ASSIGNED_TO_DEVELOPER + 1;
+
+        assertThat(bugService.getBugVersion(visibleId, developer)).isNotNull();
+        assertThat(bugService.getBugVersion(hiddenId, developer)).isNull();
+        assertThat(bugService.getCommentsVersion(hiddenId, developer)).isNull();
+        assertThat(bugService.getProjectBugsVersion(project.getId(), developer).getCount())
+                .isEqualTo(ASSIGNED_TO_DEVELOPER);
+    }
+
+    @Test
+    void renamingAJoinedUserOrProjectChangesTheVersion() {
+        // Everything was written moments ago; push it back so a rename is clearly newer
+        for (String table : List.of("bugs", "users", "projects")) {
+            em.getEntityManager().createNativeQuery("UPDATE " + table + " SET updated_at = TIMESTAMP '2026-01-01 00:00:00'")
+                    .executeUpdate();
+        }
+        Long bugId = bugService.getBugsByProject(project.getId(), developer).get(0).getId();
+        BugVersion bug = bugService.getBugVersion(bugId, developer);
+        BugVersion list = bugService.getProjectBugsVersion(project.getId(), developer);
+
+        User renamed = em.find(User.class, developer.getId());
+        renamed.setName("Renamed Developer");
+        em.flush();
+
+        assertThat(bugService.getBugVersion(bugId, developer).getLastModified()).isAfter(bug.getLastModified());
+        assertThat(bugService.getProjectBugsVersion(project.getId(), developer).getLastModified()).isAfter(list.getLastModified());
+
+        BugVersion afterUserRename = bugService.getProjectBugsVersion(project.getId(), developer);
+        em.getEntityManager().createNativeQuery("UPDATE users SET updated_at = TIMESTAMP '2026-01-01 00:00:00'").executeUpdate();
+        Project renamedProject = em.find(Project.class, project.getId());
+        renamedProject.setName("Visibility 2");
+        em.flush();
+        assertThat(bugService.getProjectBugsVersion(project.getId(), developer).getLastModified())
+                .isAfter(list.getLastModified())
+                .isNotEqualTo(afterUserRename.getLastModified());
+    }
+
+    /**
+     * Wraps the DataSource so every row read from a SELECT over the bugs table is counted,
+     * which is the number of rows actually shipped over JDBC.
+     */
+    @TestConfiguration
+    static class RowCounting {
+
+        static final AtomicLong bugRows = new AtomicLong();
+
+        @Bean
+        static BeanPostProcessor rowCountingDataSource() {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    if (bean instanceof DataSource ds) {
+                        return wrap(ds, DataSource.class);
+                    }
+                    return bean;
+                }
+            };
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T wrap(T target, Class<T> type) {
+            return (T) wrap(target, type, null);
+        }
+
+        private static Object wrap(Object target, Class<?> type, String sql) {
+            return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                Object result;
+                try {
+                    result = method.invoke(target, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+                if (result instanceof Connection c) {
+                    return wrap(c, Connection.class, null);
+                }
+                if (result instanceof PreparedStatement ps && args != null && args.length > 0 && args[0] instanceof String s) {
+                    return wrap(ps, PreparedStatement.class, s);
+                }
+                if (result instanceof ResultSet rs && sql != null) {
+                    return wrap(rs, ResultSet.class, sql);
+                }
+                if (type == ResultSet.class && "next".equals(method.getName()) && Boolean.TRUE.equals(result)
+                        && sql.toLowerCase(Locale.ROOT).matches("(?s)select .* from bugs .*")) {
+                    bugRows.incrementAndGet();
+                }
+                return result;
+            });
+        }
+    }
+}
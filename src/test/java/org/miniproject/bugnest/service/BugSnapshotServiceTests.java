@@ -0,0 +1,238 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.config.BugActivityStatusBackfill;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugDailySnapshotRepository;
+import org.miniproject.bugnest.repository.BugSnapshotWatermarkRepository;
+import org.miniproject.bugnest.repository.BugTrendRow;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.Mockito.doThrow;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BugSnapshotService.class, BugActivityStatusBackfill.class})
+class BugSnapshotServiceTests {
+
+    private static final LocalDate DAY1 = LocalDate.of(2026, 3, 1);
+    private static final LocalDate DAY2 = DAY1.plusDays(1);
+    private static final LocalDate DAY3 = DAY1.plusDays(2);
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugSnapshotService bugSnapshotService;
+
+    @MockitoSpyBean
+    private BugDailySnapshotRepository snapshotRepository;
+
+    @Autowired
+    private BugSnapshotWatermarkRepository watermarkRepository;
+
+    @Autowired
+    private BugActivityStatusBackfill backfill;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Test
+    void rollupRebuildsPastDaysFromStatusChangesAndIsIdempotent() {
+        User manager = manager();
+        Project project = project(manager);
+
+        // Closed now; was OPEN on day 1, IN_PROGRESS on day 2, closed on day 3
+        Bug fixed = bug(project, manager, 1, BugStatus.CLOSED, BugSeverity.CRITICAL, null, DAY1.atTime(10, 0));
+        activity(fixed, manager, BugStatus.OPEN, BugStatus.IN_PROGRESS, DAY2.atTime(9, 0));
+        activity(fixed, manager, BugStatus.IN_PROGRESS, BugStatus.CLOSED, DAY3.atTime(12, 0));
+        // Still open, due on day 2, so overdue from day 3
+        bug(project, manager, 2, BugStatus.OPEN, BugSeverity.MAJOR, DAY2, DAY2.atTime(8, 0));
+        em.flush();
+
+        assertThat(bugSnapshotService.rollup(DAY1.minusDays(1), DAY3)).isEqualTo(3);
+        List<BugTrendRow> trend = bugSnapshotService.trend(project.getId(), DAY1.minusDays(1), DAY3);
+
+        assertThat(trend).extracting(BugTrendRow::getDate).containsExactly(DAY1, DAY2, DAY3);
+        BugTrendRow day1 = trend.get(0);
+        assertThat(day1.getOpenBugs()).isEqualTo(1);
+        assertThat(day1.getCriticalOpen()).isEqualTo(1);
+        assertThat(day1.getCreatedOnDay()).isEqualTo(1);
+
+        BugTrendRow day2 = trend.get(1);
+        assertThat(day2.getOpenBugs()).isEqualTo(1);
+        assertThat(day2.getInProgressBugs()).isEqualTo(1);
+        assertThat(day2.getMajorOpen()).isEqualTo(1);
+        assertThat(day2.getOverdueOpen()).isZero();
+        assertThat(day2.getCreatedOnDay()).isEqualTo(1);
+
+        BugTrendRow day3 = trend.get(2);
+        assertThat(day3.getOpenBugs()).isEqualTo(1);
+        assertThat(day3.getInProgressBugs()).isZero();
+        assertThat(day3.getClosedBugs()).isEqualTo(1);
+        assertThat(day3.getCriticalOpen()).isZero();
+        assertThat(day3.getOverdueOpen()).isEqualTo(1);
+        assertThat(day3.getClosedOnDay()).isEqualTo(1);
+
+        // Re-running a sub-range replaces its rows instead of adding to them
+        assertThat(bugSnapshotService.rollup(DAY2, DAY3)).isEqualTo(2);
+        assertThat(snapshotRepository.count()).isEqualTo(3);
+        assertThat(bugSnapshotService.trend(null, DAY3, DAY3)).singleElement()
+                .satisfies(r -> assertThat(r.getClosedBugs()).isEqualTo(1));
+    }
+
+    @Test
+    void catchUpResumesEachProjectFromItsOwnWatermark() {
+        User manager = manager();
+        Project healthy = project(manager);
+        Project flaky = project(manager, "Flaky", "FLK");
+        bug(healthy, manager, 1, BugStatus.OPEN, BugSeverity.MINOR, null, DAY1.atTime(10, 0));
+        bug(flaky, manager, 1, BugStatus.OPEN, BugSeverity.MINOR, null, DAY1.atTime(10, 0));
+        em.flush();
+
+        // Only the first attempt fails; the retry covers a longer range and goes through
+        doThrow(new IllegalStateException("lock timeout"))
+                .when(snapshotRepository).deleteRange(flaky.getId(), DAY1, DAY2);
+        assertThat(bugSnapshotService.catchUp(DAY2, DAY1)).isEqualTo(2);
+        assertThat(bugSnapshotService.trend(flaky.getId(), DAY1, DAY3)).isEmpty();
+
+        // The healthy project only needs day 3; the flaky one retries from day 1
+        assertThat(bugSnapshotService.catchUp(DAY3, DAY1)).isEqualTo(4);
+        assertThat(bugSnapshotService.trend(healthy.getId(), DAY1, DAY3)).hasSize(3);
+        assertThat(bugSnapshotService.trend(flaky.getId(), DAY1, DAY3)).hasSize(3);
+        assertThat(watermarkRepository.findAll())
+                .extracting(BugSnapshotWatermark::getRolledUpThrough)
+                .containsOnly(DAY3);
+
+        // Nothing left to do
+        assertThat(bugSnapshotService.catchUp(DAY3, DAY1)).isZero();
+    }
+
+    @Test
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    void rollupsOfOneProjectWaitForEachOther() throws Exception {
+        // Committed data: the rollups run on their own connections
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        Project project = tx.execute(status -> {
+            Project p = project(manager());
+            bug(p, p.getCreator(), 1, BugStatus.OPEN, BugSeverity.MINOR, null, DAY1.atTime(10, 0));
+            return p;
+        });
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            bugSnapshotService.rollup(DAY1, DAY2);
+
+            // Stand in for a catch-up that is halfway through the project
+            CountDownLatch locked = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            Future<?> catchUp = pool.submit(() -> tx.executeWithoutResult(status -> {
+                watermarkRepository.lockByProjectId(project.getId());
+                locked.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }));
+            locked.await();
+            // A rerun leaves the watermark alone, so only the lock can hold it back
+            Future<Integer> rollup = pool.submit(() -> bugSnapshotService.rollup(DAY1, DAY2));
+            Thread.sleep(300);
+            assertThat(rollup).isNotDone();
+
+            release.countDown();
+            catchUp.get(10, TimeUnit.SECONDS);
+            assertThat(rollup.get(10, TimeUnit.SECONDS)).isEqualTo(2);
+            assertThat(bugSnapshotService.trend(project.getId(), DAY1, DAY2)).hasSize(2);
+        } finally {
+            pool.shutdownNow();
+            tx.executeWithoutResult(status -> {
+                for (String table : List.of("bug_daily_snapshots", "bug_snapshot_watermarks", "bugs", "projects", "users")) {
+                    jdbcTemplate.update("DELETE FROM " + table);
+                }
+            });
+        }
+    }
+
+    @Test
+    void legacyStatusMessagesAreBackfilledIntoColumns() {
+        User manager = manager();
+        Project project = project(manager);
+        Bug bug = bug(project, manager, 1, BugStatus.REVIEW, BugSeverity.MINOR, null, DAY1.atTime(10, 0));
+        // Written before from_status / to_status existed: only the message says what changed
+        activity(bug, manager, null, null, DAY2.atTime(9, 0));
+        jdbcTemplate.update("UPDATE bug_activities SET message = ? WHERE bug_id = ?",
+                "Manager changed status from UNKNOWN to REVIEW", bug.getId());
+        em.clear();
+
+        backfill.run();
+
+        assertThat(jdbcTemplate.queryForMap("SELECT from_status, to_status FROM bug_activities WHERE bug_id = ?", bug.getId()))
+                .containsEntry("FROM_STATUS", null)
+                .containsEntry("TO_STATUS", "REVIEW");
+        bugSnapshotService.rollup(DAY1, DAY2);
+        // An unknown old status counts as OPEN
+        assertThat(bugSnapshotService.trend(project.getId(), DAY1, DAY2))
+                .extracting(BugTrendRow::getOpenBugs, BugTrendRow::getReviewBugs)
+                .containsExactly(tuple(1L, 0L), tuple(0L, 1L));
+    }
+
+    private User manager() {
+        return user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+    }
+
+    private Project project(User creator) {
+        return project(creator, "Trends", "TRD");
+    }
+
+    private Project project(User creator, String name, String key) {
+        return TestFixtures.project(em, creator, name, key);
+    }
+
+    private Bug bug(Project project, User creator, int n, BugStatus status, BugSeverity severity,
+                    LocalDate dueDate, LocalDateTime createdAt) {
+        Bug bug = TestFixtures.bug(project, creator, n, status);
+        bug.setSeverity(severity);
+        bug.setDueDate(dueDate);
+        em.persistAndFlush(bug);
+        // created_at is set by @PrePersist, so backdate it directly
+        jdbcTemplate.update("UPDATE bugs SET created_at = ? WHERE id = ?", Timestamp.valueOf(createdAt), bug.getId());
+        return bug;
+    }
+
+    private void activity(Bug bug, User actor, BugStatus from, BugStatus to, LocalDateTime at) {
+        BugActivity activity = new BugActivity();
+        activity.setBug(bug);
+        activity.setActor(actor);
+        activity.setAction("STATUS_CHANGED");
+        activity.setMessage(actor.getName() + " changed status from " + from + " to " + to);
+        activity.setFromStatus(from);
+        activity.setToStatus(to);
+        em.persistAndFlush(activity);
+        jdbcTemplate.update("UPDATE bug_activities SET created_at = ? WHERE id = ?", Timestamp.valueOf(at), activity.getId());
+    }
+}
@@ -0,0 +1,121 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.dto.BugCreateRequest;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.BugRepository;
+import org.miniproject.bugnest.repository.BugSpecifications;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.when;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import({BugService.class, NotificationService.class, BugSearchService.class, ProjectMembershipCache.class, UserCache.class, BugCounterService.class})
+class BugTagTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private BugService bugService;
+
+    @Autowired
+    private BugRepository bugRepository;
+
+    // UPDATE ... RETURNING is PostgreSQL-only; numbering is not what these tests are about
+    @MockitoBean
+    private BugNumberAllocator bugNumberAllocator;
+
+    private final AtomicLong numbers = new AtomicLong();
+    private User admin;
+    private Project project;
+
+    @BeforeEach
+    void setUp() {
+        when(bugNumberAllocator.next(anyLong())).thenAnswer(inv -> numbers.incrementAndGet());
+
+        admin = new User();
+        admin.setName("Admin");
+        admin.setEmail("admin@test.local");
+        admin.setPassword("x");
+        admin.setRole(Role.ADMIN);
+        admin.setStatus(Status.ACTIVE);
+        em.persist(admin);
+
+        project = new Project();
+        project.setName("Tags");
+        project.setProjectKey("TAG");
+        project.setCreator(admin);
+        em.persist(project);
+        em.flush();
+    }
+
+    @Test
+    void syncTagsMirrorsTheNormalizedColumn() {
+        Bug bug = create("Login button", List.of("UI", " Login ", "ui", " "));
+        assertThat(bug.getTags()).isEqualTo("ui,login");
+        assertThat(tagRows(bug)).containsExactlyInAnyOrder("ui", "login");
+
+        bugService.updateBug(bug.getId(), update(List.of("API")), admin);
+        assertThat(tagRows(bug)).containsExactly("api");
+
+        // Leaving tags out of an update keeps them; an empty list clears them
+        bugService.updateBug(bug.getId(), update(null), admin);
+        assertThat(tagRows(bug)).containsExactly("api");
+        bugService.updateBug(bug.getId(), update(List.of()), admin);
+        assertThat(tagRows(bug)).isEmpty();
+    }
+
+    @Test
+    void tagsMatchAnyOfOrAllOf() {
+        Bug uiOnly = create("UI only", List.of("ui"));
+        Bug both = create("UI and API", List.of("ui", "api"));
+        Bug apiOnly = create("API only", List.of("api"));
+        create("Untagged", null);
+        em.flush();
+
+        assertThat(matching(List.of("ui", "api"), false)).containsExactlyInAnyOrder(uiOnly.getId(), both.getId(), apiOnly.getId());
+        assertThat(matching(List.of("ui", "api"), true)).containsExactly(both.getId());
+        assertThat(matching(List.of("ui"), true)).containsExactlyInAnyOrder(uiOnly.getId(), both.getId());
+        assertThat(matching(List.of("ui", "missing"), true)).isEmpty();
+        assertThat(matching(List.of(), true)).hasSize(4);
+    }
+
+    private Bug create(String title, List<String> tags) {
+        BugCreateRequest request = new BugCreateRequest();
+        request.setProjectId(project.getId());
+        request.setTitle(title);
+        request.setPriority("MEDIUM");
+        request.setTags(tags);
+        return bugService.createBug(request, admin);
+    }
+
+    private static BugCreateRequest update(List<String> tags) {
+        BugCreateRequest request = new BugCreateRequest();
+        request.setTags(tags);
+        return request;
+    }
+
+    private List<String> tagRows(Bug bug) {
+        em.flush();
+        return jdbcTemplate.queryForList("SELECT tag FROM bug_tags WHERE bug_id = ?", String.class, bug.getId());
+    }
+
+    private List<Long> matching(List<String> tags, boolean matchAll) {
+        return bugRepository.findAll(BugSpecifications.tagsMatch(tags, matchAll)).stream().map(Bug::getId).toList();
+    }
+}
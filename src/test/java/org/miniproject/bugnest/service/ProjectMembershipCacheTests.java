@@ -0,0 +1,63 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.*;
+import org.miniproject.bugnest.repository.ProjectMemberRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.miniproject.bugnest.service.TestFixtures.member;
+import static org.miniproject.bugnest.service.TestFixtures.project;
+import static org.miniproject.bugnest.service.TestFixtures.user;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(ProjectMembershipCache.class)
+class ProjectMembershipCacheTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private ProjectMembershipCache cache;
+
+    @MockitoSpyBean
+    private ProjectMemberRepository memberRepository;
+
+    private Project project;
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        User manager = user(em, "Manager", "pm@test.local", Role.PROJECT_MANAGER);
+        developer = user(em, "Developer", "dev@test.local", Role.DEVELOPER);
+
+        project = project(em, manager, "Cache", "CCH");
+        em.flush();
+        clearInvocations(memberRepository);
+    }
+
+    @Test
+    void repeatedChecksHitTheCacheUntilEvicted() {
+        assertThat(cache.isAcceptedMember(project.getId(), developer.getId())).isFalse();
+        assertThat(cache.isAcceptedMember(project.getId(), developer.getId())).isFalse();
+        verify(memberRepository, times(1)).findMembership(any(), any());
+
+        member(em, project, developer, Role.DEVELOPER);
+        em.flush();
+        cache.evict(project.getId(), developer.getId());
+
+        assertThat(cache.isAcceptedMember(project.getId(), developer.getId())).isTrue();
+        assertThat(cache.get(project.getId(), developer.getId()))
+                .hasValueSatisfying(ms -> assertThat(ms.getRole()).isEqualTo(Role.DEVELOPER));
+        verify(memberRepository, times(2)).findMembership(any(), any());
+    }
+}
@@ -0,0 +1,84 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.Role;
+import org.miniproject.bugnest.model.Status;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.RefreshTokenRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "app.jwtSecret=test-secret-test-secret-test-secret-test-secret"
+})
+@Import(RefreshTokenService.class)
+class RefreshTokenServiceTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private RefreshTokenService refreshTokenService;
+
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        developer = new User();
+        developer.setName("Developer");
+        developer.setEmail("dev@test.local");
+        developer.setPassword("x");
+        developer.setRole(Role.DEVELOPER);
+        developer.setStatus(Status.ACTIVE);
+        em.persist(developer);
+    }
+
+    @Test
+    void rotationIssuesNewTokenAndStoresOnlyHashes() {
+        String first = refreshTokenService.issue(developer);
+        em.flush();
+        em.clear();
+
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(first);
+
+        assertThat(rotation.getUser().getEmail()).isEqualTo("dev@test.local");
+        assertThat(rotation.getRefreshToken()).isNotEqualTo(first);
+        assertThat(refreshTokenRepository.findAll())
+                .hasSize(2)
+                .allSatisfy(t -> assertThat(t.getTokenHash()).hasSize(64).isNotIn(first, rotation.getRefreshToken()));
+    }
+
+    @Test
+    void reusingRotatedTokenRevokesTheFamily() {
+        String first = refreshTokenService.issue(developer);
+        String second = refreshTokenService.rotate(first).getRefreshToken();
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(first))
+                .isInstanceOfSatisfying(ResponseStatusException.class,
+                        e -> assertThat(e.getStatusCode()).isEqualTo(HttpStatus.UNAUTHORIZED));
+        assertThatThrownBy(() -> refreshTokenService.rotate(second)).isInstanceOf(ResponseStatusException.class);
+        em.clear();
+        assertThat(refreshTokenRepository.findAll()).allSatisfy(t -> assertThat(t.getRevokedAt()).isNotNull());
+    }
+
+    @Test
+    void logoutRevokesToken() {
+        String token = refreshTokenService.issue(developer);
+        refreshTokenService.revoke(token);
+
+        assertThatThrownBy(() -> refreshTokenService.rotate(token)).isInstanceOf(ResponseStatusException.class);
+        assertThatThrownBy(() -> refreshTokenService.rotate("not-a-token")).isInstanceOf(ResponseStatusException.class);
+    }
+}
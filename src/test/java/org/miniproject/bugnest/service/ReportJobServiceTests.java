@@ -0,0 +1,186 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongConsumer;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReportJobServiceTests {
+
+    @TempDir
+    Path dir;
+
+    private final AdminReportService reports = mock(AdminReportService.class);
+    private final MutableClock clock = new MutableClock();
+    private ReportJobService service;
+
+    @AfterEach
+    void tearDown() {
+        if (service != null) {
+            service.shutdown();
+        }
+    }
+
+    @Test
+    void concurrentRequestsShareOneRunAndTheFileExpires() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        when(reports.countUsers()).thenReturn(2L);
+        doAnswer(inv -> {
+            release.await(5, TimeUnit.SECONDS);
+            Writer out = inv.getArgument(0);
+            out.write("userId\n1\n2\n");
+            inv.<LongConsumer>getArgument(1).accept(2);
+            return null;
+        }).when(reports).writeUserMetricsCsv(any(Writer.class), any(LongConsumer.class));
+        Files.writeString(dir.resolve("stale.part"), "left over");
+        service = new ReportJobService(reports, dir, 2, 4, Duration.ofMinutes(10), Duration.ofMinutes(5), clock);
+        assertThat(dir.resolve("stale.part")).doesNotExist();
+
+        ReportJob first = service.submit(ReportJob.Report.USERS, true);
+        ReportJob second = service.submit(ReportJob.Report.USERS, true);
+        ReportJob plain = service.submit(ReportJob.Report.USERS, false);
+        assertThat(second).isSameAs(first);
+        assertThat(plain).isNotSameAs(first);
+
+        release.countDown();
+        awaitFinished(first);
+        awaitFinished(plain);
+        verify(reports, times(2)).writeUserMetricsCsv(any(Writer.class), any(LongConsumer.class));
+        assertThat(first.getState()).isEqualTo(ReportJob.State.DONE);
+        assertThat(first.getProgress()).isEqualTo(100);
+        assertThat(first.getRowsWritten()).isEqualTo(2);
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(first.getFile()))) {
+            assertThat(new String(in.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("userId\n1\n2\n");
+        }
+        assertThat(Files.readString(plain.getFile())).isEqualTo("userId\n1\n2\n");
+
+        // once finished, the same request starts a fresh run
+        ReportJob rerun = service.submit(ReportJob.Report.USERS, true);
+        assertThat(rerun).isNotSameAs(first);
+        awaitFinished(rerun);
+
+        clock.advance(Duration.ofMinutes(11));
+        service.expire();
+        assertThat(first.getFile()).doesNotExist();
+        assertThat(service.find(first.getId())).isEmpty();
+    }
+
+    @Test
+    void failedRunLeavesNoPartialFile() throws Exception {
+        doThrow(new IOException("disk full"))
+                .when(reports).writeProjectMetricsCsv(any(Writer.class), any(LongConsumer.class));
+        service = new ReportJobService(reports, dir, 1, 1, Duration.ofMinutes(10), Duration.ofMinutes(5), clock);
+
+        ReportJob job = service.submit(ReportJob.Report.PROJECTS, false);
+        awaitFinished(job);
+
+        assertThat(job.getState()).isEqualTo(ReportJob.State.FAILED);
+        assertThat(job.getError()).isEqualTo("Report generation failed");
+        assertThat(job.getFile()).isNull();
+        try (var files = Files.list(dir)) {
+            assertThat(files).isEmpty();
+        }
+    }
+
+    @Test
+    void filesAreOwnerOnlyAndOutliveExpiryWhileDownloading() throws Exception {
+        doAnswer(inv -> {
+            inv.<Writer>getArgument(0).write("projectId\n1\n");
+            return null;
+        }).when(reports).writeProjectMetricsCsv(any(Writer.class), any(LongConsumer.class));
+        Path reportsDir = dir.resolve("reports");
+        Files.createDirectory(reportsDir);
+        service = new ReportJobService(reports, reportsDir, 1, 1, Duration.ofMinutes(10), Duration.ofMinutes(5), clock);
+
+        ReportJob job = service.submit(ReportJob.Report.PROJECTS, false);
+        awaitFinished(job);
+        if (reportsDir.getFileSystem().supportedFileAttributeViews().contains("posix")) {
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(reportsDir))).isEqualTo("rwx------");
+            assertThat(PosixFilePermissions.toString(Files.getPosixFilePermissions(job.getFile()))).isEqualTo("rw-------");
+        }
+
+        InputStream download = service.openDownload(job).orElseThrow();
+        clock.advance(Duration.ofMinutes(11));
+        service.expire();
+        assertThat(service.find(job.getId())).isEmpty();
+        assertThat(service.openDownload(job)).isEmpty();
+        assertThat(job.getFile()).exists();
+
+        assertThat(new String(download.readAllBytes(), StandardCharsets.UTF_8)).isEqualTo("projectId\n1\n");
+        download.close();
+        assertThat(job.getFile()).doesNotExist();
+    }
+
+    @Test
+    void abandonedDownloadKeepsTheFileOnlyForTheGracePeriod() throws Exception {
+        doAnswer(inv -> {
+            inv.<Writer>getArgument(0).write("projectId\n1\n");
+            return null;
+        }).when(reports).writeProjectMetricsCsv(any(Writer.class), any(LongConsumer.class));
+        service = new ReportJobService(reports, dir, 1, 1, Duration.ofMinutes(10), Duration.ofMinutes(5), clock);
+
+        ReportJob job = service.submit(ReportJob.Report.PROJECTS, false);
+        awaitFinished(job);
+        // Opened for a response that was never written (e.g. a 406), so nothing closes it
+        service.openDownload(job).orElseThrow();
+
+        clock.advance(Duration.ofMinutes(11));
+        service.expire();
+        assertThat(job.getFile()).exists();
+
+        clock.advance(Duration.ofMinutes(4));
+        service.expire();
+        assertThat(job.getFile()).doesNotExist();
+    }
+
+    private static void awaitFinished(ReportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(job.isFinished()).as("job finished").isTrue();
+    }
+
+    private static class MutableClock extends Clock {
+        private volatile Instant now = Instant.parse("2026-01-01T00:00:00Z");
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+}
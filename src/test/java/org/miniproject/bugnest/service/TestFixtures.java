@@ -0,0 +1,57 @@
+package org.miniproject.bugnest.service;
+
+import org.miniproject.bugnest.model.*;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+
+/**
+ * Entities the repository-backed service tests set up over and over. Everything except bug() is
+ * persisted right away.
+ */
+final class TestFixtures {
+
+    private TestFixtures() {
+    }
+
+    static User user(TestEntityManager em, String name, String email, Role role) {
+        User u = new User();
+        u.setName(name);
+        u.setEmail(email);
+        u.setPassword("x");
+        u.setRole(role);
+        u.setStatus(Status.ACTIVE);
+        return em.persist(u);
+    }
+
+    static Project project(TestEntityManager em, User creator, String name, String key) {
+        Project p = new Project();
+        p.setName(name);
+        p.setProjectKey(key);
+        p.setCreator(creator);
+        return em.persist(p);
+    }
+
+    static ProjectMember member(TestEntityManager em, Project project, User user, Role role) {
+        return member(em, project, user, role, ProjectMemberStatus.ACCEPTED);
+    }
+
+    static ProjectMember member(TestEntityManager em, Project project, User user, Role role, ProjectMemberStatus status) {
+        ProjectMember m = new ProjectMember();
+        m.setProject(project);
+        m.setUser(user);
+        m.setRole(role);
+        m.setStatus(status);
+        return em.persist(m);
+    }
+
+    // Not persisted, so a test can set the fields it is about first
+    static Bug bug(Project project, User creator, int n, BugStatus status) {
+        Bug bug = new Bug();
+        bug.setBugId(project.getProjectKey() + "-" + n);
+        bug.setTitle("Bug " + n);
+        bug.setPriority(BugPriority.MEDIUM);
+        bug.setStatus(status);
+        bug.setProject(project);
+        bug.setCreator(creator);
+        return bug;
+    }
+}
@@ -0,0 +1,74 @@
+package org.miniproject.bugnest.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.miniproject.bugnest.model.Role;
+import org.miniproject.bugnest.model.Status;
+import org.miniproject.bugnest.model.User;
+import org.miniproject.bugnest.repository.UserRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jpa.test.autoconfigure.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.clearInvocations;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect")
+@Import(UserCache.class)
+class UserCacheTests {
+
+    @Autowired
+    private TestEntityManager em;
+
+    @Autowired
+    private UserCache cache;
+
+    @MockitoSpyBean
+    private UserRepository userRepository;
+
+    private User developer;
+
+    @BeforeEach
+    void setUp() {
+        developer = new User();
+        developer.setName("Developer");
+        developer.setEmail("dev@test.local");
+        developer.setPassword("x");
+        developer.setRole(Role.DEVELOPER);
+        developer.setStatus(Status.ACTIVE);
+        em.persist(developer);
+        em.flush();
+        clearInvocations(userRepository);
+    }
+
+    @Test
+    void repeatedLookupsHitTheCacheAndReturnCopies() {
+        User first = cache.findById(developer.getId()).orElseThrow();
+        first.setName("Changed by caller");
+
+        assertThat(cache.findById(developer.getId())).hasValueSatisfying(u -> assertThat(u.getName()).isEqualTo("Developer"));
+        assertThat(cache.findByEmail("dev@test.local")).hasValueSatisfying(u -> assertThat(u.getId()).isEqualTo(developer.getId()));
+        assertThat(cache.findByEmail("dev@test.local")).isPresent();
+        verify(userRepository, times(1)).findById(any());
+        verify(userRepository, times(1)).findByEmail(any());
+    }
+
+    @Test
+    void putInvalidatesBothKeys() {
+        cache.findByEmail("dev@test.local");
+
+        developer.setStatus(Status.INACTIVE);
+        em.flush();
+        cache.put(developer);
+
+        assertThat(cache.findByEmail("dev@test.local")).hasValueSatisfying(u -> assertThat(u.getStatus()).isEqualTo(Status.INACTIVE));
+        assertThat(cache.findById(developer.getId())).hasValueSatisfying(u -> assertThat(u.getStatus()).isEqualTo(Status.INACTIVE));
+        verify(userRepository, times(2)).findByEmail(any());
+        verify(userRepository, times(0)).findById(any());
+    }
+}